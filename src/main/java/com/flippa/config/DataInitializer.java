@@ -6,6 +6,7 @@ import com.flippa.entity.User;
 import com.flippa.repository.RoleRepository;
 import com.flippa.repository.SystemConfigRepository;
 import com.flippa.repository.UserRepository;
+import com.flippa.service.SystemConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
@@ -29,13 +30,16 @@ public class DataInitializer implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final SystemConfigRepository systemConfigRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SystemConfigService systemConfigService;
     
     public DataInitializer(UserRepository userRepository, RoleRepository roleRepository,
-                          SystemConfigRepository systemConfigRepository, PasswordEncoder passwordEncoder) {
+                          SystemConfigRepository systemConfigRepository, PasswordEncoder passwordEncoder,
+                          SystemConfigService systemConfigService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.systemConfigRepository = systemConfigRepository;
         this.passwordEncoder = passwordEncoder;
+        this.systemConfigService = systemConfigService;
     }
     
     @Override
@@ -45,6 +49,7 @@ public class DataInitializer implements CommandLineRunner {
         
         // Ensure system name config exists
         ensureSystemNameConfig();
+        systemConfigService.reloadAfterCommit();
         
         // Fix admin users - ensure they have correct password hash and roles
         fixAdminUsers();
@@ -110,6 +115,7 @@ public class DataInitializer implements CommandLineRunner {
             }
             
             if (updated) {
+                user.syncRoleMask();
                 userRepository.save(user);
             }
         });
@@ -136,6 +142,7 @@ public class DataInitializer implements CommandLineRunner {
             }
             
             if (updated) {
+                user.syncRoleMask();
                 userRepository.save(user);
             }
         });
@@ -171,6 +178,7 @@ public class DataInitializer implements CommandLineRunner {
             }
             
             if (updated) {
+                user.syncRoleMask();
                 userRepository.save(user);
             }
         });
@@ -5,14 +5,15 @@ import com.flippa.entity.Escrow;
 import com.flippa.entity.Listing;
 import com.flippa.entity.SystemConfig;
 import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
 import com.flippa.service.AdminService;
 import com.flippa.service.CategoryService;
 import com.flippa.service.EscrowService;
 import com.flippa.service.ListingService;
 import com.flippa.service.UserService;
+import com.flippa.view.ListingFragmentCache;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -30,15 +31,17 @@ public class AdminController {
     private final ListingService listingService;
     private final EscrowService escrowService;
     private final CategoryService categoryService;
+    private final ListingFragmentCache listingFragmentCache;
     
     public AdminController(AdminService adminService, UserService userService,
                           ListingService listingService, EscrowService escrowService,
-                          CategoryService categoryService) {
+                          CategoryService categoryService, ListingFragmentCache listingFragmentCache) {
         this.adminService = adminService;
         this.userService = userService;
         this.listingService = listingService;
         this.escrowService = escrowService;
         this.categoryService = categoryService;
+        this.listingFragmentCache = listingFragmentCache;
     }
     
     @GetMapping
@@ -46,6 +49,7 @@ public class AdminController {
         model.addAttribute("totalUsers", userService.findAll().size());
         model.addAttribute("totalListings", listingService.getAllActiveListings().size());
         model.addAttribute("totalDisputes", escrowService.getDisputes().size());
+        model.addAttribute("fragmentCache", listingFragmentCache.getStats());
         return "admin/dashboard";
     }
     
@@ -57,10 +61,9 @@ public class AdminController {
     
     @PostMapping("/users/{id}/ban")
     public String banUser(@PathVariable Long id, @RequestParam String reason,
-                         Authentication authentication, HttpServletRequest request,
+                         @CurrentUser User admin, HttpServletRequest request,
                          RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             userService.banUser(id, reason, admin, request);
             redirectAttributes.addFlashAttribute("success", "User banned successfully.");
         } catch (Exception e) {
@@ -70,10 +73,9 @@ public class AdminController {
     }
     
     @PostMapping("/users/{id}/unban")
-    public String unbanUser(@PathVariable Long id, Authentication authentication,
+    public String unbanUser(@PathVariable Long id, @CurrentUser User admin,
                            HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             userService.unbanUser(id, admin, request);
             redirectAttributes.addFlashAttribute("success", "User unbanned successfully.");
         } catch (Exception e) {
@@ -84,10 +86,9 @@ public class AdminController {
     
     @PostMapping("/users/{id}/toggle-role")
     public String toggleUserRole(@PathVariable Long id, @RequestParam String roleType,
-                                @RequestParam boolean enable, Authentication authentication,
+                                @RequestParam boolean enable, @CurrentUser User admin,
                                 HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             com.flippa.entity.Role.RoleType role = com.flippa.entity.Role.RoleType.valueOf(roleType);
             userService.toggleUserRole(id, role, enable, admin, request);
             redirectAttributes.addFlashAttribute("success", "User role updated successfully.");
@@ -105,10 +106,9 @@ public class AdminController {
     }
     
     @PostMapping("/listings/{id}/activate")
-    public String activateListing(@PathVariable Long id, Authentication authentication,
+    public String activateListing(@PathVariable Long id, @CurrentUser User admin,
                                  HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             listingService.activateListing(id, admin, request);
             redirectAttributes.addFlashAttribute("success", "Listing activated successfully.");
         } catch (Exception e) {
@@ -126,10 +126,9 @@ public class AdminController {
     @PostMapping("/disputes/{id}/resolve")
     public String resolveDispute(@PathVariable Long id, @RequestParam String resolution,
                                 @RequestParam String resolutionNotes, @RequestParam String finalStatus,
-                                Authentication authentication, HttpServletRequest request,
+                                @CurrentUser User admin, HttpServletRequest request,
                                 RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             Escrow.EscrowStatus status = Escrow.EscrowStatus.valueOf(finalStatus);
             escrowService.resolveDispute(id, resolution, resolutionNotes, status, admin, request);
             redirectAttributes.addFlashAttribute("success", "Dispute resolved successfully.");
@@ -196,10 +195,9 @@ public class AdminController {
     @PostMapping("/settings/update")
     public String updateSetting(@RequestParam String key, @RequestParam String value,
                                @RequestParam(required = false) String description,
-                               Authentication authentication, HttpServletRequest request,
+                               @CurrentUser User admin, HttpServletRequest request,
                                RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             adminService.updateConfig(key, value, description, admin, request);
             redirectAttributes.addFlashAttribute("success", "Setting updated successfully.");
         } catch (Exception e) {
@@ -210,10 +208,9 @@ public class AdminController {
     
     @PostMapping("/settings/{key}/toggle")
     public String toggleSetting(@PathVariable String key, @RequestParam boolean enabled,
-                               Authentication authentication, HttpServletRequest request,
+                               @CurrentUser User admin, HttpServletRequest request,
                                RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             adminService.toggleConfig(key, enabled, admin, request);
             redirectAttributes.addFlashAttribute("success", "Setting toggled successfully.");
         } catch (Exception e) {
@@ -231,10 +228,9 @@ public class AdminController {
     @PostMapping("/categories/create")
     public String createCategory(@RequestParam String name, @RequestParam(required = false) String description,
                                  @RequestParam(required = false) Integer displayOrder,
-                                 Authentication authentication, HttpServletRequest request,
+                                 @CurrentUser User admin, HttpServletRequest request,
                                  RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             categoryService.createCategory(name, description, displayOrder, admin, request);
             redirectAttributes.addFlashAttribute("success", "Category created successfully.");
         } catch (Exception e) {
@@ -248,10 +244,9 @@ public class AdminController {
                                  @RequestParam(required = false) String description,
                                  @RequestParam(required = false) Integer displayOrder,
                                  @RequestParam(required = false) Boolean enabled,
-                                 Authentication authentication, HttpServletRequest request,
+                                 @CurrentUser User admin, HttpServletRequest request,
                                  RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             categoryService.updateCategory(id, name, description, displayOrder, enabled, admin, request);
             redirectAttributes.addFlashAttribute("success", "Category updated successfully.");
         } catch (Exception e) {
@@ -261,10 +256,9 @@ public class AdminController {
     }
     
     @PostMapping("/categories/{id}/delete")
-    public String deleteCategory(@PathVariable Long id, Authentication authentication,
+    public String deleteCategory(@PathVariable Long id, @CurrentUser User admin,
                                 HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User admin = getCurrentUser(authentication);
             categoryService.deleteCategory(id, admin, request);
             redirectAttributes.addFlashAttribute("success", "Category deleted successfully.");
         } catch (Exception e) {
@@ -272,11 +266,5 @@ public class AdminController {
         }
         return "redirect:/admin/categories";
     }
-    
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
@@ -0,0 +1,59 @@
+package com.flippa.controller;
+
+import com.flippa.dto.ExportFormat;
+import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
+import com.flippa.service.AdminExportService;
+import com.flippa.service.AuditLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Bulk downloads for admins. The body is written on an async thread while rows stream from the
+ * database, so the export never has to fit in memory.
+ */
+@Controller
+@RequestMapping("/admin/export")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class AdminExportController {
+
+    private final AdminExportService adminExportService;
+    private final AuditLogService auditLogService;
+
+    public AdminExportController(AdminExportService adminExportService, AuditLogService auditLogService) {
+        this.adminExportService = adminExportService;
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                                        @RequestParam(required = false) String format,
+                                                        @CurrentUser User admin, HttpServletRequest request) {
+        AdminExportService.Dataset selected = AdminExportService.Dataset.fromParam(dataset);
+        if (selected == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        auditLogService.logAction(admin, "DATA_EXPORTED", "Export", selected.name(),
+                                 "Exported " + selected.name().toLowerCase() + " as " + exportFormat.name(), request);
+
+        String fileName = selected.name().toLowerCase() + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> adminExportService.export(selected, exportFormat, out));
+    }
+
+}
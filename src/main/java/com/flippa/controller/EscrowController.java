@@ -3,11 +3,10 @@ package com.flippa.controller;
 import com.flippa.entity.Escrow;
 import com.flippa.entity.Listing;
 import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
 import com.flippa.service.EscrowService;
 import com.flippa.service.ListingService;
-import com.flippa.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -19,24 +18,20 @@ public class EscrowController {
     
     private final EscrowService escrowService;
     private final ListingService listingService;
-    private final UserService userService;
     
-    public EscrowController(EscrowService escrowService, ListingService listingService,
-                           UserService userService) {
+    public EscrowController(EscrowService escrowService, ListingService listingService) {
         this.escrowService = escrowService;
         this.listingService = listingService;
-        this.userService = userService;
     }
     
     @PostMapping("/create")
     public String createEscrow(@RequestParam Long listingId,
                               @RequestParam String paymentGateway,
                               @RequestParam(required = false) String buyerNotes,
-                              Authentication authentication,
+                              @CurrentUser User buyer,
                               HttpServletRequest request,
                               RedirectAttributes redirectAttributes) {
         try {
-            User buyer = getCurrentUser(authentication);
             Escrow.PaymentGateway gateway = Escrow.PaymentGateway.valueOf(paymentGateway.toUpperCase());
             
             escrowService.createEscrow(listingId, buyer.getId(), gateway, buyerNotes, request);
@@ -49,19 +44,17 @@ public class EscrowController {
     }
     
     @GetMapping("/my-escrows")
-    public String myEscrows(Authentication authentication, Model model) {
-        User user = getCurrentUser(authentication);
+    public String myEscrows(@CurrentUser User user, Model model) {
         model.addAttribute("buyerEscrows", escrowService.findByBuyerId(user.getId()));
         model.addAttribute("sellerEscrows", escrowService.findBySellerId(user.getId()));
         return "my-escrows";
     }
     
     @GetMapping("/{id}")
-    public String escrowDetails(@PathVariable Long id, Authentication authentication, Model model) {
+    public String escrowDetails(@PathVariable Long id, @CurrentUser User user, Model model) {
         Escrow escrow = escrowService.findById(id)
             .orElseThrow(() -> new RuntimeException("Escrow not found"));
         
-        User user = getCurrentUser(authentication);
         if (!escrow.getBuyer().getId().equals(user.getId()) && 
             !escrow.getSeller().getId().equals(user.getId())) {
             return "redirect:/escrow/my-escrows";
@@ -74,11 +67,10 @@ public class EscrowController {
     @PostMapping("/{id}/dispute")
     public String raiseDispute(@PathVariable Long id,
                                @RequestParam String reason,
-                               Authentication authentication,
+                               @CurrentUser User user,
                                HttpServletRequest request,
                                RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             escrowService.raiseDispute(id, reason, user, request);
             redirectAttributes.addFlashAttribute("success", "Dispute raised successfully.");
         } catch (Exception e) {
@@ -89,11 +81,10 @@ public class EscrowController {
     
     @PostMapping("/{id}/complete")
     public String completeTransfer(@PathVariable Long id,
-                                  Authentication authentication,
+                                  @CurrentUser User user,
                                   HttpServletRequest request,
                                   RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             escrowService.completeTransfer(id, user, request);
             redirectAttributes.addFlashAttribute("success", "Transfer completed successfully.");
         } catch (Exception e) {
@@ -101,11 +92,5 @@ public class EscrowController {
         }
         return "redirect:/escrow/" + id;
     }
-    
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
@@ -1,76 +1,160 @@
 package com.flippa.controller;
 
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.ListingCard;
 import com.flippa.dto.ListingDTO;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.ListingSort;
+import com.flippa.dto.ListingVersion;
+import com.flippa.dto.PriceBucket;
 import com.flippa.entity.Listing;
-import com.flippa.entity.User;
+import com.flippa.search.TrendingIndex;
+import com.flippa.security.CurrentUser;
+import com.flippa.security.UserPrincipal;
+import com.flippa.service.CategoryService;
 import com.flippa.service.ListingService;
-import com.flippa.service.UserService;
-import org.springframework.security.core.Authentication;
+import com.flippa.service.ListingViewService;
+import com.flippa.service.SimilarListingService;
+import com.flippa.view.ListingFragmentCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Controller
 public class HomeController {
     
     private final ListingService listingService;
-    private final UserService userService;
+    private final CategoryService categoryService;
+    private final ListingFragmentCache listingFragmentCache;
+    private final SimilarListingService similarListingService;
+    private final ListingViewService listingViewService;
+    private final TrendingIndex trendingIndex;
     
-    public HomeController(ListingService listingService, UserService userService) {
+    public HomeController(ListingService listingService, CategoryService categoryService,
+                          ListingFragmentCache listingFragmentCache,
+                          SimilarListingService similarListingService, ListingViewService listingViewService,
+                          TrendingIndex trendingIndex) {
         this.listingService = listingService;
-        this.userService = userService;
+        this.categoryService = categoryService;
+        this.listingFragmentCache = listingFragmentCache;
+        this.similarListingService = similarListingService;
+        this.listingViewService = listingViewService;
+        this.trendingIndex = trendingIndex;
     }
     
     @GetMapping({"/", "/home"})
-    public String home(Model model) {
-        // Simplified: Don't call service methods that might fail
-        // Home page is now standalone HTML and doesn't need these attributes
-        // model.addAttribute("featuredListings", java.util.Collections.emptyList());
-        // model.addAttribute("activeListings", java.util.Collections.emptyList());
+    public String home(@RequestParam(required = false) String trending, Model model) {
+        TrendingIndex.Window window = TrendingIndex.Window.fromParam(trending);
+        model.addAttribute("featuredListings", listingService.getFeaturedListingCards());
+        model.addAttribute("activeListings", listingService.getNewestListingCards());
+        model.addAttribute("trendingListings", trendingIndex.getTrending(window));
+        model.addAttribute("trendingWindow", window.toParam());
+        model.addAttribute("trendingWindows", TrendingIndex.Window.values());
         return "home";
     }
     
     @GetMapping("/listings")
-    public String listings(@RequestParam(required = false) String search, Model model) {
-        List<Listing> listings;
+    public String listings(@RequestParam(required = false) String search,
+                           @RequestParam(required = false) String sort,
+                           @RequestParam(required = false) String cursor,
+                           @RequestParam(required = false) String type,
+                           @RequestParam(required = false) Long category,
+                           @RequestParam(required = false) String mode,
+                           @RequestParam(required = false) Boolean verified,
+                           @RequestParam(required = false) String price,
+                           Model model) {
+        ListingSort listingSort = ListingSort.fromParam(sort);
+        ListingFilter filter = ListingFilter.fromParams(type, category, mode, verified, price);
+        List<ListingCard> listings;
+        String nextCursor = null;
+        // Ranked once and shared by the result list and the facet counts
+        List<Long> searchHits = null;
         if (search != null && !search.isEmpty()) {
-            listings = listingService.searchListings(search);
+            searchHits = listingService.rankedSearchIds(search);
+            listings = listingService.searchListings(searchHits, filter);
         } else {
-            listings = listingService.getAllActiveListings();
+            CursorPage<ListingCard> page = listingService.browseActiveListings(listingSort, cursor, filter);
+            listings = page.getItems();
+            nextCursor = page.getNextCursor();
         }
         
         model.addAttribute("listings", listings);
         model.addAttribute("search", search);
+        model.addAttribute("sort", listingSort.toParam());
+        model.addAttribute("nextCursor", nextCursor);
+        model.addAttribute("firstPage", cursor == null || cursor.isEmpty());
+        
+        // Facet filters with counts
+        model.addAttribute("filter", filter);
+        model.addAttribute("facets", listingService.getFacetCounts(filter, searchHits));
+        model.addAttribute("categories", categoryService.getAllEnabledCategories());
+        model.addAttribute("listingTypes", Listing.ListingType.values());
+        model.addAttribute("listingModes", Listing.ListingMode.values());
+        model.addAttribute("priceBuckets", PriceBucket.values());
+        model.addAttribute("typeParam", filter.getType() != null ? filter.getType().name() : null);
+        model.addAttribute("modeParam", filter.getMode() != null ? filter.getMode().name() : null);
+        model.addAttribute("priceParam", filter.getPriceBucket() != null ? filter.getPriceBucket().toParam() : null);
         return "listings";
     }
     
     @GetMapping("/listings/{id}")
-    public String listingDetails(@PathVariable Long id, Model model, Authentication authentication) {
-        Listing listing = listingService.findById(id)
+    public String listingDetails(@PathVariable Long id, Model model, @CurrentUser UserPrincipal principal,
+                                 HttpServletRequest request, HttpServletResponse response,
+                                 WebRequest webRequest) {
+        // Anonymous pages carry no per-user markup, so repeat visits and crawlers can be answered
+        // with a 304 from a single scalar query, before the listing is loaded or rendered
+        boolean anonymous = principal == null;
+        if (anonymous && RequestContextUtils.getInputFlashMap(request) == null) {
+            ListingVersion version = listingService.findVersion(id)
+                .orElseThrow(() -> new RuntimeException("Listing not found"));
+            // Replaces Spring Security's no-store default: browsers keep the page but revalidate it
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+            // The similar listings section changes whenever the similarity job publishes a new run
+            String variant = model.getAttribute("systemName") + "|" + similarListingService.getGeneration();
+            if (webRequest.checkNotModified(version.getETag(variant), version.getLastModified())) {
+                listingViewService.recordView(id, version.getStatus());
+                return null;
+            }
+        }
+        
+        Listing listing = listingService.findWithDetails(id)
             .orElseThrow(() -> new RuntimeException("Listing not found"));
+        listingViewService.recordView(listing.getId(), listing.getStatus());
         
         // Check if current user is the seller
-        boolean isSeller = false;
-        if (authentication != null && authentication.isAuthenticated()) {
-            Optional<User> currentUser = userService.findByEmail(authentication.getName());
-            if (currentUser.isPresent() && currentUser.get().getId().equals(listing.getSeller().getId())) {
-                isSeller = true;
-            }
-        }
+        boolean isSeller = principal != null && principal.getId().equals(listing.getSeller().getId());
         
         ListingDTO listingDTO = listingService.convertToDTO(listing);
         model.addAttribute("listing", listingDTO);
         model.addAttribute("isSeller", isSeller);
-        
-        // Add images separately for template access
-        if (listing.getListingImages() != null && !listing.getListingImages().isEmpty()) {
-            model.addAttribute("listingImages", listing.getListingImages());
+        if (isSeller) {
+            // Only shown to the seller, so anonymous ETags stay stable between views
+            model.addAttribute("viewCount", listingViewService.getViewCount(listing.getId()));
         }
+        model.addAttribute("similarListings", similarListingService.getSimilarListingCards(listing.getId()));
+        
+        // Static sections are rendered once per listing version and shared by all visitors
+        model.addAttribute("detailFragments", listingFragmentCache.get(listing.getId(), listing.getUpdatedAt(), () -> {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("listing", listingDTO);
+            if (listing.getListingImages() != null && !listing.getListingImages().isEmpty()) {
+                variables.put("listingImages", listing.getListingImages());
+            }
+            return variables;
+        }));
         
         return "listing-details";
     }
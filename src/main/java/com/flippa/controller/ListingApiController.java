@@ -0,0 +1,94 @@
+package com.flippa.controller;
+
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingField;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.ListingSort;
+import com.flippa.service.ListingService;
+import com.flippa.view.ListingJsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only JSON API over ACTIVE listings for mobile and partner integrations. Accepts the same
+ * sort, cursor and filter parameters as the browse page, plus {@code fields} to select fields.
+ */
+@RestController
+@RequestMapping("/api/v1/listings")
+public class ListingApiController {
+    
+    private final ListingService listingService;
+    private final ListingJsonWriter listingJsonWriter;
+    
+    public ListingApiController(ListingService listingService, ListingJsonWriter listingJsonWriter) {
+        this.listingService = listingService;
+        this.listingJsonWriter = listingJsonWriter;
+    }
+    
+    /**
+     * One page of listings. Search results are ranked and returned as a single page.
+     */
+    @GetMapping
+    public void listings(@RequestParam(required = false) String search,
+                         @RequestParam(required = false) String sort,
+                         @RequestParam(required = false) String cursor,
+                         @RequestParam(required = false) String type,
+                         @RequestParam(required = false) Long category,
+                         @RequestParam(required = false) String mode,
+                         @RequestParam(required = false) Boolean verified,
+                         @RequestParam(required = false) String price,
+                         @RequestParam(required = false) String fields,
+                         HttpServletResponse response) throws IOException {
+        Set<ListingField> selected = parseFields(fields, response);
+        if (selected == null) {
+            return;
+        }
+        ListingFilter filter = ListingFilter.fromParams(type, category, mode, verified, price);
+        CursorPage<ListingCard> page = search != null && !search.isEmpty()
+            ? new CursorPage<>(listingService.searchListings(search, filter), null)
+            : listingService.browseActiveListings(ListingSort.fromParam(sort), cursor, filter);
+        
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        listingJsonWriter.writePage(page, selected, response.getOutputStream());
+    }
+    
+    @GetMapping("/{id}")
+    public void listing(@PathVariable Long id, @RequestParam(required = false) String fields,
+                        HttpServletResponse response) throws IOException {
+        Set<ListingField> selected = parseFields(fields, response);
+        if (selected == null) {
+            return;
+        }
+        Optional<ListingCard> card = listingService.findActiveListingCard(id);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (card.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            listingJsonWriter.writeError("Listing not found", response.getOutputStream());
+            return;
+        }
+        listingJsonWriter.writeListing(card.get(), selected, response.getOutputStream());
+    }
+    
+    // Writes a 400 and returns null when the field list names an unknown field
+    private Set<ListingField> parseFields(String fields, HttpServletResponse response) throws IOException {
+        try {
+            return ListingField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            listingJsonWriter.writeError(e.getMessage(), response.getOutputStream());
+            return null;
+        }
+    }
+}
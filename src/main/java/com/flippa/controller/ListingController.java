@@ -1,13 +1,14 @@
 package com.flippa.controller;
 
 import com.flippa.dto.ListingDTO;
+import com.flippa.entity.DomainVerification;
 import com.flippa.entity.Listing;
 import com.flippa.entity.SocialMediaVerification;
 import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
 import com.flippa.service.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -23,29 +24,31 @@ import java.util.List;
 public class ListingController {
     
     private final ListingService listingService;
-    private final UserService userService;
     private final CategoryService categoryService;
     private final ListingImageService listingImageService;
     private final DomainVerificationService domainVerificationService;
     private final SocialMediaVerificationService socialMediaVerificationService;
+    private final ListingViewService listingViewService;
     
-    public ListingController(ListingService listingService, UserService userService,
-                           CategoryService categoryService, ListingImageService listingImageService,
+    public ListingController(ListingService listingService, CategoryService categoryService,
+                           ListingImageService listingImageService,
                            DomainVerificationService domainVerificationService,
-                           SocialMediaVerificationService socialMediaVerificationService) {
+                           SocialMediaVerificationService socialMediaVerificationService,
+                           ListingViewService listingViewService) {
         this.listingService = listingService;
-        this.userService = userService;
         this.categoryService = categoryService;
         this.listingImageService = listingImageService;
         this.domainVerificationService = domainVerificationService;
         this.socialMediaVerificationService = socialMediaVerificationService;
+        this.listingViewService = listingViewService;
     }
     
     @GetMapping
-    public String myListings(Authentication authentication, Model model) {
-        User user = getCurrentUser(authentication);
+    public String myListings(@CurrentUser User user, Model model) {
         List<Listing> listings = listingService.findBySellerId(user.getId());
         model.addAttribute("listings", listings);
+        model.addAttribute("viewCounts", listingViewService.getViewCounts(
+            listings.stream().map(Listing::getId).toList()));
         return "my-listings";
     }
     
@@ -58,7 +61,7 @@ public class ListingController {
     
     @PostMapping("/create")
     public String create(@Valid @ModelAttribute("listing") ListingDTO listingDTO,
-                       BindingResult result, Authentication authentication,
+                       BindingResult result, @CurrentUser User user,
                        HttpServletRequest request, RedirectAttributes redirectAttributes, Model model) {
         if (result.hasErrors()) {
             model.addAttribute("categories", categoryService.getAllEnabledCategories());
@@ -66,7 +69,6 @@ public class ListingController {
         }
         
         try {
-            User user = getCurrentUser(authentication);
             Listing createdListing = listingService.createListing(listingDTO, user, request);
             
             // Show appropriate message based on listing status
@@ -91,9 +93,8 @@ public class ListingController {
     }
     
     @GetMapping("/{id}/edit")
-    public String editForm(@PathVariable Long id, Authentication authentication, Model model) {
-        User user = getCurrentUser(authentication);
-        Listing listing = listingService.findById(id)
+    public String editForm(@PathVariable Long id, @CurrentUser User user, Model model) {
+        Listing listing = listingService.findWithDetails(id)
             .orElseThrow(() -> new RuntimeException("Listing not found"));
         
         if (!listing.getSeller().getId().equals(user.getId())) {
@@ -102,13 +103,13 @@ public class ListingController {
         
         model.addAttribute("listing", listingService.convertToDTO(listing));
         model.addAttribute("categories", categoryService.getAllEnabledCategories());
-        model.addAttribute("images", listingImageService.getListingImages(id));
+        model.addAttribute("images", listing.getListingImages());
         return "listing-form";
     }
     
     @PostMapping("/{id}/edit")
     public String update(@PathVariable Long id, @Valid @ModelAttribute("listing") ListingDTO listingDTO,
-                        BindingResult result, Authentication authentication,
+                        BindingResult result, @CurrentUser User user,
                         HttpServletRequest request, RedirectAttributes redirectAttributes, Model model) {
         if (result.hasErrors()) {
             model.addAttribute("categories", categoryService.getAllEnabledCategories());
@@ -117,7 +118,6 @@ public class ListingController {
         }
         
         try {
-            User user = getCurrentUser(authentication);
             listingService.updateListing(id, listingDTO, user, request);
             redirectAttributes.addFlashAttribute("success", "Listing updated successfully!");
             return "redirect:/my-listings";
@@ -132,10 +132,9 @@ public class ListingController {
     @PostMapping("/{id}/images")
     public String uploadImage(@PathVariable Long id, @RequestParam("file") MultipartFile file,
                              @RequestParam(value = "isPrimary", defaultValue = "false") boolean isPrimary,
-                             Authentication authentication, HttpServletRequest request,
+                             @CurrentUser User user, HttpServletRequest request,
                              RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             listingImageService.uploadImage(id, file, isPrimary, user, request);
             redirectAttributes.addFlashAttribute("success", "Image uploaded successfully!");
         } catch (Exception e) {
@@ -146,10 +145,9 @@ public class ListingController {
     
     @PostMapping("/{id}/images/{imageId}/delete")
     public String deleteImage(@PathVariable Long id, @PathVariable Long imageId,
-                             Authentication authentication, HttpServletRequest request,
+                             @CurrentUser User user, HttpServletRequest request,
                              RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             listingImageService.deleteImage(imageId, user, request);
             redirectAttributes.addFlashAttribute("success", "Image deleted successfully!");
         } catch (Exception e) {
@@ -160,10 +158,9 @@ public class ListingController {
     
     @PostMapping("/{id}/images/{imageId}/set-primary")
     public String setPrimaryImage(@PathVariable Long id, @PathVariable Long imageId,
-                                 Authentication authentication, HttpServletRequest request,
+                                 @CurrentUser User user, HttpServletRequest request,
                                  RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             listingImageService.setPrimaryImage(imageId, user, request);
             redirectAttributes.addFlashAttribute("success", "Primary image set successfully!");
         } catch (Exception e) {
@@ -173,9 +170,8 @@ public class ListingController {
     }
     
     @GetMapping("/{id}/verify")
-    public String verifyListing(@PathVariable Long id, Authentication authentication, Model model) {
-        User user = getCurrentUser(authentication);
-        Listing listing = listingService.findById(id)
+    public String verifyListing(@PathVariable Long id, @CurrentUser User user, Model model) {
+        Listing listing = listingService.findWithDetails(id)
             .orElseThrow(() -> new RuntimeException("Listing not found"));
         
         if (!listing.getSeller().getId().equals(user.getId())) {
@@ -184,16 +180,17 @@ public class ListingController {
         
         model.addAttribute("listing", listingService.convertToDTO(listing));
         
-        // Check verification type
+        // Check verification type (verification records are part of the listing fetch plan)
         if (listing.getType() == Listing.ListingType.WEBSITE || listing.getType() == Listing.ListingType.DOMAIN) {
-            domainVerificationService.findByListingId(id).ifPresent(verification -> {
+            DomainVerification verification = listing.getDomainVerification();
+            if (verification != null) {
                 model.addAttribute("domainVerification", verification);
                 model.addAttribute("verificationTxt", domainVerificationService.generateVerificationTxtContent(verification.getVerificationToken()));
-            });
+            }
         } else if (listing.getType() == Listing.ListingType.SOCIAL_MEDIA_ACCOUNT) {
-            socialMediaVerificationService.findByListingId(id).ifPresent(verification -> {
-                model.addAttribute("socialMediaVerification", verification);
-            });
+            if (listing.getSocialMediaVerification() != null) {
+                model.addAttribute("socialMediaVerification", listing.getSocialMediaVerification());
+            }
         }
         
         return "listing-verify";
@@ -201,10 +198,9 @@ public class ListingController {
     
     @PostMapping("/{id}/verify/domain")
     public String verifyDomain(@PathVariable Long id, @RequestParam String domain,
-                              Authentication authentication, HttpServletRequest request,
+                              @CurrentUser User user, HttpServletRequest request,
                               RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             domainVerificationService.createVerificationRequest(id, domain, user, request);
             redirectAttributes.addFlashAttribute("success", "Verification request created! Download the TXT file and upload it to your domain.");
         } catch (Exception e) {
@@ -214,10 +210,9 @@ public class ListingController {
     }
     
     @PostMapping("/{id}/verify/domain/check")
-    public String checkDomainVerification(@PathVariable Long id, Authentication authentication,
+    public String checkDomainVerification(@PathVariable Long id, @CurrentUser User user,
                                          HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             boolean verified = domainVerificationService.verifyDomain(id, user, request);
             if (verified) {
                 redirectAttributes.addFlashAttribute("success", "Domain verified successfully! Your listing is now active.");
@@ -233,10 +228,9 @@ public class ListingController {
     @PostMapping("/{id}/verify/social")
     public String verifySocialMedia(@PathVariable Long id, @RequestParam String platform,
                                    @RequestParam String accountUrl, @RequestParam String accountUsername,
-                                   Authentication authentication, HttpServletRequest request,
+                                   @CurrentUser User user, HttpServletRequest request,
                                    RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             SocialMediaVerification.Platform platformEnum = SocialMediaVerification.Platform.valueOf(platform.toUpperCase());
             socialMediaVerificationService.createVerificationRequest(id, platformEnum, accountUrl, accountUsername, user, request);
             redirectAttributes.addFlashAttribute("success", "Verification request created! Please complete OAuth login.");
@@ -247,10 +241,9 @@ public class ListingController {
     }
     
     @PostMapping("/{id}/verify/social/confirm")
-    public String confirmSocialMediaVerification(@PathVariable Long id, Authentication authentication,
+    public String confirmSocialMediaVerification(@PathVariable Long id, @CurrentUser User user,
                                                 HttpServletRequest request, RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             boolean verified = socialMediaVerificationService.verifySocialMediaAccount(id, user, request);
             if (verified) {
                 redirectAttributes.addFlashAttribute("success", "Social media account verified successfully! Your listing is now active.");
@@ -262,11 +255,5 @@ public class ListingController {
         }
         return "redirect:/my-listings/" + id + "/verify";
     }
-    
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
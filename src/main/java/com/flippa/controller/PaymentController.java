@@ -2,8 +2,8 @@ package com.flippa.controller;
 
 import com.flippa.entity.Payment;
 import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
 import com.flippa.service.PaymentService;
-import com.flippa.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,21 +21,18 @@ public class PaymentController {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
     private final PaymentService paymentService;
-    private final UserService userService;
     
-    public PaymentController(PaymentService paymentService, UserService userService) {
+    public PaymentController(PaymentService paymentService) {
         this.paymentService = paymentService;
-        this.userService = userService;
     }
     
     @PostMapping("/initiate")
     public String initiatePayment(@RequestParam Long escrowId,
                                  @RequestParam String gateway,
-                                 Authentication authentication,
+                                 @CurrentUser User user,
                                  HttpServletRequest request,
                                  RedirectAttributes redirectAttributes) {
         try {
-            User user = getCurrentUser(authentication);
             Payment.PaymentGateway paymentGateway = Payment.PaymentGateway.valueOf(gateway.toUpperCase());
             
             Payment payment = paymentService.initiatePayment(escrowId, paymentGateway, user, request);
@@ -127,16 +124,9 @@ public class PaymentController {
     }
     
     @GetMapping("/my-payments")
-    public String myPayments(Authentication authentication, Model model) {
-        User user = getCurrentUser(authentication);
+    public String myPayments(@CurrentUser User user, Model model) {
         model.addAttribute("payments", paymentService.findByUserId(user.getId()));
         return "my-payments";
     }
-    
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
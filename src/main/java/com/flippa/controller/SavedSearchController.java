@@ -0,0 +1,72 @@
+package com.flippa.controller;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.entity.SavedSearchMatch;
+import com.flippa.entity.User;
+import com.flippa.security.CurrentUser;
+import com.flippa.service.SavedSearchService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Controller
+@RequestMapping("/saved-searches")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    public SavedSearchController(SavedSearchService savedSearchService) {
+        this.savedSearchService = savedSearchService;
+    }
+
+    @GetMapping
+    public String savedSearches(@CurrentUser User user, Model model) {
+        List<SavedSearchMatch> newMatches = savedSearchService.takeNewMatches(user);
+        Map<Long, Long> newMatchCounts = newMatches.stream()
+            .collect(Collectors.groupingBy(m -> m.getSavedSearch().getId(), Collectors.counting()));
+        model.addAttribute("savedSearches", savedSearchService.getSavedSearches(user));
+        model.addAttribute("newMatches", newMatches);
+        model.addAttribute("newMatchCounts", newMatchCounts);
+        return "saved-searches";
+    }
+
+    @PostMapping
+    public String save(@RequestParam(required = false) String search,
+                       @RequestParam(required = false) String type,
+                       @RequestParam(required = false) Long category,
+                       @RequestParam(required = false) String mode,
+                       @RequestParam(required = false) Boolean verified,
+                       @RequestParam(required = false) String price,
+                       @CurrentUser User user, RedirectAttributes redirectAttributes) {
+        try {
+            savedSearchService.saveSearch(user, search, ListingFilter.fromParams(type, category, mode, verified, price));
+            redirectAttributes.addFlashAttribute("success",
+                "Search saved! We'll list new matching listings on your Saved Searches page.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to save search: " + e.getMessage());
+        }
+        return "redirect:/saved-searches";
+    }
+
+    @PostMapping("/{id}/delete")
+    public String delete(@PathVariable Long id, @CurrentUser User user,
+                         RedirectAttributes redirectAttributes) {
+        try {
+            savedSearchService.deleteSearch(id, user);
+            redirectAttributes.addFlashAttribute("success", "Saved search deleted.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to delete saved search: " + e.getMessage());
+        }
+        return "redirect:/saved-searches";
+    }
+
+}
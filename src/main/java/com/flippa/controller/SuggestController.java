@@ -0,0 +1,32 @@
+package com.flippa.controller;
+
+import com.flippa.dto.Suggestion;
+import com.flippa.search.SuggestionIndex;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Search box typeahead. Served entirely from memory, so it is cheap enough to call per keystroke.
+ */
+@RestController
+@RequestMapping("/api")
+public class SuggestController {
+    
+    private static final int DEFAULT_LIMIT = 8;
+    
+    private final SuggestionIndex suggestionIndex;
+    
+    public SuggestController(SuggestionIndex suggestionIndex) {
+        this.suggestionIndex = suggestionIndex;
+    }
+    
+    @GetMapping("/suggest")
+    public List<Suggestion> suggest(@RequestParam(required = false) String q,
+                                    @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return suggestionIndex.suggest(q, limit);
+    }
+}
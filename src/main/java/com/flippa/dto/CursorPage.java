@@ -0,0 +1,24 @@
+package com.flippa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result. {@code nextCursor} is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flippa.dto;
+
+/**
+ * File formats offered by the admin data export.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String extension;
+    
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * Parses a request parameter such as "ndjson", falling back to CSV.
+     */
+    public static ExportFormat fromParam(String value) {
+        if (value != null && value.trim().equalsIgnoreCase("ndjson")) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
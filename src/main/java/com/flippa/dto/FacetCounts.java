@@ -0,0 +1,23 @@
+package com.flippa.dto;
+
+import com.flippa.entity.Listing;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of ACTIVE listings behind each facet value. Counts for one facet apply the
+ * selections of every other facet but not its own, so the alternatives stay visible.
+ */
+@Data
+public class FacetCounts {
+    
+    private int total;
+    private Map<Listing.ListingType, Integer> types = new EnumMap<>(Listing.ListingType.class);
+    private Map<Long, Integer> categories = new HashMap<>();
+    private Map<Listing.ListingMode, Integer> modes = new EnumMap<>(Listing.ListingMode.class);
+    private int verified;
+    private Map<PriceBucket, Integer> priceBuckets = new EnumMap<>(PriceBucket.class);
+}
@@ -0,0 +1,35 @@
+package com.flippa.dto;
+
+import com.flippa.entity.Listing;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a listing as shown in a browse grid card.
+ * Built by a single constructor query in ListingRepository that joins the
+ * category and primary image, so rendering a page never touches lazy associations.
+ */
+@Value
+public class ListingCard {
+    
+    Long id;
+    String title;
+    String summary; // First characters of the description
+    Listing.ListingType type;
+    Listing.ListingMode listingMode;
+    BigDecimal price;
+    BigDecimal currentBid;
+    Boolean verified;
+    Boolean featured;
+    String categoryName;
+    String primaryImagePath;
+    String imageUrl; // Deprecated external image, used when there is no uploaded image
+    LocalDateTime createdAt;
+    LocalDateTime auctionEndDate;
+    
+    public boolean isAuction() {
+        return listingMode == Listing.ListingMode.AUCTION;
+    }
+}
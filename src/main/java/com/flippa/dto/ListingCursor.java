@@ -0,0 +1,58 @@
+package com.flippa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque browse-page cursor: the sort it belongs to plus the sort key and id
+ * of the last listing on the previous page, Base64-encoded for use in URLs.
+ */
+@Data
+@AllArgsConstructor
+public class ListingCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private ListingSort sort;
+    private String key;
+    private Long id;
+    
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a cursor issued for the given sort.
+     * Returns null when the cursor is missing, malformed or was issued for another sort,
+     * so callers simply start from the first page.
+     */
+    public static ListingCursor decode(String cursor, ListingSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(sort.name()) || parts[1].isEmpty()) {
+                return null;
+            }
+            ListingCursor decoded = new ListingCursor(sort, parts[1], Long.parseLong(parts[2]));
+            // Reject keys that do not parse for this sort before they reach a query
+            if (sort == ListingSort.PRICE_LOW || sort == ListingSort.PRICE_HIGH) {
+                new BigDecimal(decoded.key);
+            } else {
+                LocalDateTime.parse(decoded.key);
+            }
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.flippa.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a listing in the JSON API, selectable with {@code ?fields=title,price}.
+ */
+public enum ListingField {
+    ID("id"),
+    TITLE("title"),
+    SUMMARY("summary"),
+    TYPE("type"),
+    MODE("mode"),
+    PRICE("price"),
+    CURRENT_BID("currentBid"),
+    VERIFIED("verified"),
+    FEATURED("featured"),
+    CATEGORY("category"),
+    IMAGE_URL("imageUrl"),
+    CREATED_AT("createdAt"),
+    AUCTION_END_DATE("auctionEndDate"),
+    URL("url");
+    
+    private final String jsonName;
+    
+    ListingField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+    
+    public String getJsonName() {
+        return jsonName;
+    }
+    
+    /**
+     * Parses a comma-separated field list. A missing list selects every field; the id is
+     * always included so clients can follow up on a row.
+     */
+    public static Set<ListingField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(ListingField.class);
+        }
+        Set<ListingField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        return selected;
+    }
+    
+    private static ListingField fromJsonName(String name) {
+        for (ListingField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
@@ -0,0 +1,65 @@
+package com.flippa.dto;
+
+import com.flippa.entity.Listing;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Facet selections on the browse page. A null field means "any".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingFilter {
+    
+    private Listing.ListingType type;
+    private Long categoryId;
+    private Listing.ListingMode mode;
+    private Boolean verified;
+    private PriceBucket priceBucket;
+    
+    /**
+     * Builds a filter from request parameters, ignoring values that do not parse.
+     * Only {@code verified=true} narrows the results; anything else means "any".
+     */
+    public static ListingFilter fromParams(String type, Long categoryId, String mode,
+                                           Boolean verified, String price) {
+        ListingFilter filter = new ListingFilter();
+        filter.setType(parseEnum(Listing.ListingType.class, type));
+        filter.setCategoryId(categoryId);
+        filter.setMode(parseEnum(Listing.ListingMode.class, mode));
+        filter.setVerified(Boolean.TRUE.equals(verified) ? Boolean.TRUE : null);
+        filter.setPriceBucket(PriceBucket.fromParam(price));
+        return filter;
+    }
+    
+    public boolean isEmpty() {
+        return type == null && categoryId == null && mode == null && verified == null && priceBucket == null;
+    }
+    
+    public BigDecimal getMinPrice() {
+        return priceBucket != null ? priceBucket.getMin() : null;
+    }
+    
+    public BigDecimal getMaxPrice() {
+        return priceBucket != null ? priceBucket.getMax() : null;
+    }
+    
+    public ListingFilter copy() {
+        return new ListingFilter(type, categoryId, mode, verified, priceBucket);
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
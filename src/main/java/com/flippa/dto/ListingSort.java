@@ -0,0 +1,31 @@
+package com.flippa.dto;
+
+/**
+ * Sort orders offered on the browse page. Every order is a keyset over
+ * (sort column, id) so the id breaks ties and pages stay stable.
+ */
+public enum ListingSort {
+    NEWEST,
+    PRICE_LOW,
+    PRICE_HIGH,
+    ENDING_SOON;
+    
+    /**
+     * Parses a request parameter such as "price_low" or "ending-soon".
+     * Falls back to NEWEST for missing or unknown values.
+     */
+    public static ListingSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return ListingSort.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return NEWEST;
+        }
+    }
+    
+    public String toParam() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,42 @@
+package com.flippa.dto;
+
+import com.flippa.entity.Listing;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Everything the rendered listing detail page depends on that can change, read with a single
+ * scalar query so conditional GETs can be answered before the listing is loaded.
+ */
+@Value
+public class ListingVersion {
+    
+    Long id;
+    LocalDateTime updatedAt;
+    Integer imagesVersion;
+    Integer websiteInfoVersion;
+    LocalDateTime categoryUpdatedAt;
+    // Not part of the tag: a status change also moves updatedAt
+    Listing.ListingStatus status;
+    
+    /**
+     * Strong entity tag for the page; {@code variant} covers page-wide inputs such as the system name.
+     */
+    public String getETag(String variant) {
+        return "\"" + id + "-" + toEpochMillis(updatedAt) + "-" + imagesVersion + "-" + websiteInfoVersion
+            + "-" + (categoryUpdatedAt != null ? toEpochMillis(categoryUpdatedAt) : 0)
+            + "-" + Integer.toHexString(variant != null ? variant.hashCode() : 0) + "\"";
+    }
+    
+    public long getLastModified() {
+        LocalDateTime latest = categoryUpdatedAt != null && categoryUpdatedAt.isAfter(updatedAt)
+            ? categoryUpdatedAt : updatedAt;
+        return toEpochMillis(latest);
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
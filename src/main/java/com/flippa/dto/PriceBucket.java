@@ -0,0 +1,69 @@
+package com.flippa.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Price ranges offered as a browse facet. The lower bound is inclusive, the upper bound exclusive.
+ */
+public enum PriceBucket {
+    UNDER_1K(null, new BigDecimal("1000"), "Under $1K"),
+    FROM_1K_TO_10K(new BigDecimal("1000"), new BigDecimal("10000"), "$1K - $10K"),
+    FROM_10K_TO_50K(new BigDecimal("10000"), new BigDecimal("50000"), "$10K - $50K"),
+    FROM_50K_TO_250K(new BigDecimal("50000"), new BigDecimal("250000"), "$50K - $250K"),
+    OVER_250K(new BigDecimal("250000"), null, "$250K+");
+    
+    private final BigDecimal min;
+    private final BigDecimal max;
+    private final String label;
+    
+    PriceBucket(BigDecimal min, BigDecimal max, String label) {
+        this.min = min;
+        this.max = max;
+        this.label = label;
+    }
+    
+    public BigDecimal getMin() {
+        return min;
+    }
+    
+    public BigDecimal getMax() {
+        return max;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * Returns the bucket the price falls into, or null for a missing price.
+     */
+    public static PriceBucket of(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (PriceBucket bucket : values()) {
+            if (bucket.max == null || price.compareTo(bucket.max) < 0) {
+                return bucket;
+            }
+        }
+        return OVER_250K;
+    }
+    
+    /**
+     * Parses a request parameter such as "from-1k-to-10k". Returns null for missing or unknown values.
+     */
+    public static PriceBucket fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return PriceBucket.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    public String toParam() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
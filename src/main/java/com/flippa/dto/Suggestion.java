@@ -0,0 +1,21 @@
+package com.flippa.dto;
+
+import lombok.Value;
+
+/**
+ * One typeahead suggestion for the search box, with the link it leads to.
+ */
+@Value
+public class Suggestion {
+    
+    public enum Kind {
+        LISTING,
+        CATEGORY,
+        PLATFORM
+    }
+    
+    String text;
+    Kind kind;
+    int weight; // Popularity: higher sorts first
+    String url;
+}
@@ -14,11 +14,25 @@ import java.util.List;
 
 @Entity
 @Table(name = "listings")
+// Fetch plan shared by the detail, edit and verify pages: all three render convertToDTO, which
+// reads every association, and the inverse one-to-ones (websiteInfo and the verifications)
+// cannot be proxied, so leaving any of them out of a plan only adds a select per page.
+@NamedEntityGraph(name = Listing.GRAPH_FULL, attributeNodes = {
+    @NamedAttributeNode("seller"),
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("listingImages"),
+    @NamedAttributeNode("websiteInfo"),
+    @NamedAttributeNode("domainVerification"),
+    @NamedAttributeNode("socialMediaVerification")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Listing {
     
+    // Fetch plan used by ListingRepository.findFullById
+    public static final String GRAPH_FULL = "Listing.full";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -70,6 +84,14 @@ public class Listing {
     @Column(nullable = false)
     private Boolean verified = false;
     
+    // Bumped on every image upload, delete or primary change
+    @Column(nullable = false)
+    private Integer imagesVersion = 0;
+    
+    // Bumped whenever the fetched website info is saved
+    @Column(nullable = false)
+    private Integer websiteInfoVersion = 0;
+    
     @Column(length = 2000)
     private String verificationNotes;
     
@@ -77,6 +99,7 @@ public class Listing {
     private WebsiteInfo websiteInfo;
     
     @OneToMany(mappedBy = "listing", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @OrderBy("displayOrder ASC")
     private List<ListingImage> listingImages = new ArrayList<>();
     
     @OneToOne(mappedBy = "listing", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Entity
 @Table(name = "roles")
@@ -34,11 +35,35 @@ public class Role {
     private LocalDateTime createdAt;
     
     public enum RoleType {
-        ROLE_USER,
-        ROLE_SELLER,
-        ROLE_BUYER,
-        ROLE_ADMIN,
-        ROLE_SUPER_ADMIN
+        ROLE_USER(1),
+        ROLE_SELLER(1 << 1),
+        ROLE_BUYER(1 << 2),
+        ROLE_ADMIN(1 << 3),
+        ROLE_SUPER_ADMIN(1 << 4);
+        
+        // Fixed per role so stored or cached masks survive reordering the constants
+        private final int bit;
+        
+        RoleType(int bit) {
+            this.bit = bit;
+        }
+        
+        public int getBit() {
+            return bit;
+        }
+        
+        /**
+         * Bitmask of the enabled roles in the collection.
+         */
+        public static int toMask(Collection<Role> roles) {
+            int mask = 0;
+            for (Role role : roles) {
+                if (Boolean.TRUE.equals(role.getEnabled())) {
+                    mask |= role.getName().bit;
+                }
+            }
+            return mask;
+        }
     }
 }
 
@@ -0,0 +1,62 @@
+package com.flippa.entity;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.PriceBucket;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A search a user wants to hear about: optional keywords plus the browse page facets.
+ * A null facet means "any", as in {@link ListingFilter}.
+ */
+@Entity
+@Table(name = "saved_searches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(length = 200)
+    private String query;
+    
+    @Column(length = 50)
+    @Enumerated(EnumType.STRING)
+    private Listing.ListingType listingType;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+    
+    @Column(length = 50)
+    @Enumerated(EnumType.STRING)
+    private Listing.ListingMode listingMode;
+    
+    @Column(nullable = false)
+    private Boolean verifiedOnly = false;
+    
+    @Column(length = 50)
+    @Enumerated(EnumType.STRING)
+    private PriceBucket priceBucket;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public ListingFilter toFilter() {
+        return new ListingFilter(listingType, category != null ? category.getId() : null, listingMode,
+                                 Boolean.TRUE.equals(verifiedOnly) ? Boolean.TRUE : null, priceBucket);
+    }
+}
@@ -0,0 +1,47 @@
+package com.flippa.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One precomputed neighbour of a listing, written by the similarity job. Rows for a listing are
+ * read by primary key prefix in rank order.
+ */
+@Entity
+@Table(name = "similar_listings")
+@IdClass(SimilarListing.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarListing {
+    
+    @Id
+    @Column(name = "listing_id")
+    private Long listingId;
+    
+    @Id
+    @Column(name = "neighbour_rank")
+    private Integer neighbourRank;
+    
+    @Column(name = "similar_listing_id", nullable = false)
+    private Long similarListingId;
+    
+    @Column(nullable = false)
+    private Double score;
+    
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long listingId;
+        private Integer neighbourRank;
+    }
+}
@@ -52,7 +52,8 @@ public class User {
     @Column(length = 1000)
     private String banReason;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Only read when roles change; authorization checks use roleMask
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -60,6 +61,10 @@ public class User {
     )
     private Set<Role> roles = new HashSet<>();
     
+    // Role.RoleType bits of the enabled roles, refreshed by syncRoleMask() whenever roles change
+    @Column(nullable = false)
+    private Integer roleMask = 0;
+    
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -77,5 +82,12 @@ public class User {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+    
+    /**
+     * Recomputes roleMask from roles. Call after adding or removing a role.
+     */
+    public void syncRoleMask() {
+        roleMask = Role.RoleType.toMask(roles);
+    }
 }
 
@@ -0,0 +1,148 @@
+package com.flippa.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Records the SQL statements, hydrated rows and JDBC time of every HTTP request and logs a
+ * warning when the request issued more statements than its endpoint budget allows - the
+ * usual sign of an N+1 lazy-loading pattern. Runs ahead of Spring Security so the user
+ * lookups done during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    public static final String STATEMENTS_HEADER = "X-Query-Statements";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String JDBC_TIME_HEADER = "X-Query-Jdbc-Millis";
+    public static final String BUDGET_HEADER = "X-Query-Budget";
+
+    private final QueryBudgetProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public QueryBudgetFilter(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int budget = budgetFor(path);
+
+        QueryStats stats = QueryStats.start();
+        // Headers are stamped as the body starts and refreshed at the end if still uncommitted,
+        // so nothing is buffered and streaming responses pass straight through
+        HeaderStampingResponse stampingResponse = properties.isExposeHeaders()
+            ? new HeaderStampingResponse(response, stats, budget) : null;
+
+        try {
+            filterChain.doFilter(request, stampingResponse != null ? stampingResponse : response);
+        } finally {
+            QueryStats.stop();
+            if (stats.getStatements() > budget) {
+                logger.warn("Query budget exceeded: {} {} used {} (budget {} statements)",
+                           request.getMethod(), path, stats, budget);
+            }
+            if (stampingResponse != null && !request.isAsyncStarted()) {
+                stampingResponse.stamp();
+            }
+        }
+    }
+
+    /**
+     * Returns the statement budget of the first endpoint pattern matching the path.
+     */
+    int budgetFor(String path) {
+        for (Map.Entry<String, Integer> entry : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return properties.getDefaultStatements();
+    }
+
+    /**
+     * Sets the X-Query-* headers from the running stats each time the body is about to be
+     * written, as long as the response is not committed yet.
+     */
+    private static class HeaderStampingResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private final int budget;
+
+        HeaderStampingResponse(HttpServletResponse response, QueryStats stats, int budget) {
+            super(response);
+            this.stats = stats;
+            this.budget = budget;
+        }
+
+        void stamp() {
+            if (!isCommitted()) {
+                setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                setHeader(JDBC_TIME_HEADER, String.valueOf(stats.getJdbcMillis()));
+                setHeader(BUDGET_HEADER, String.valueOf(budget));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.flippa.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL budgets, bound from app.query-budget in application.yml.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.query-budget")
+@Data
+public class QueryBudgetProperties {
+
+    /** Record statements per request and warn when a budget is exceeded. */
+    private boolean enabled = true;
+
+    /** Add X-Query-* response headers with the counts (development only). */
+    private boolean exposeHeaders = false;
+
+    /** Statement budget for requests that match no endpoint pattern. */
+    private int defaultStatements = 20;
+
+    /** Ant-style path pattern to statement budget; the first matching pattern wins. */
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+}
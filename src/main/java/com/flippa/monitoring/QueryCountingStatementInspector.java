@@ -0,0 +1,16 @@
+package com.flippa.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares. The SQL itself is passed through unchanged.
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.recordStatement();
+        return sql;
+    }
+}
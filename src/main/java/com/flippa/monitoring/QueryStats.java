@@ -0,0 +1,82 @@
+package com.flippa.monitoring;
+
+/**
+ * SQL activity recorded for the unit of work running on the current thread
+ * (an HTTP request, or a test method under QueryBudgetExtension).
+ * The Hibernate hooks in this package only record while a scope is open,
+ * so statements issued outside a request (startup, scheduled jobs) cost nothing.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Opens a new scope on the current thread, replacing any previous one.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the scope on the current thread and returns what it recorded, or null if none was open.
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void recordRow() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Entities hydrated from result sets. Scalar and DTO projections are not counted.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + getJdbcMillis() + " ms JDBC";
+    }
+}
@@ -0,0 +1,39 @@
+package com.flippa.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Accumulates time spent executing JDBC statements and batches.
+ * Hibernate creates one instance per session (see hibernate.session.events.auto).
+ */
+public class QueryTimingSessionListener extends BaseSessionEventListener {
+
+    private long executeStart = -1;
+    private long batchStart = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        if (executeStart >= 0) {
+            QueryStats.recordJdbcTime(System.nanoTime() - executeStart);
+            executeStart = -1;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        if (batchStart >= 0) {
+            QueryStats.recordJdbcTime(System.nanoTime() - batchStart);
+            batchStart = -1;
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.flippa.repository;
 
 import com.flippa.entity.Escrow;
 import com.flippa.entity.Escrow.EscrowStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.flippa.repository.ListingRepository.EXPORT_FETCH_SIZE;
 
 @Repository
 public interface EscrowRepository extends JpaRepository<Escrow, Long> {
@@ -15,5 +22,14 @@ public interface EscrowRepository extends JpaRepository<Escrow, Long> {
     List<Escrow> findByStatus(EscrowStatus status);
     Optional<Escrow> findByListingId(Long listingId);
     List<Escrow> findByDisputeRaisedTrue();
+    
+    // Rows (escrow, listing title, buyer email, seller email) in id order for the admin export
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e, l.title, b.email, s.email FROM Escrow e JOIN e.listing l JOIN e.buyer b " +
+           "JOIN e.seller s ORDER BY e.id")
+    Stream<Object[]> streamForExport();
 }
 
@@ -1,25 +1,138 @@
 package com.flippa.repository;
 
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.ListingVersion;
 import com.flippa.entity.Listing;
 import com.flippa.entity.Listing.ListingStatus;
 import com.flippa.entity.Listing.ListingType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ListingRepository extends JpaRepository<Listing, Long> {
+    
+    // Rows per JDBC round trip for the forward-only admin export streams
+    String EXPORT_FETCH_SIZE = "500";
+    
+    // Select list for ListingCard: one row per listing with its category name and primary image
+    String CARD_SELECT = "SELECT new com.flippa.dto.ListingCard(l.id, l.title, SUBSTRING(l.description, 1, 160), " +
+                         "l.type, l.listingMode, l.price, l.currentBid, l.verified, l.featured, c.name, " +
+                         "img.filePath, l.imageUrl, l.createdAt, l.auctionEndDate) " +
+                         "FROM Listing l LEFT JOIN l.category c " +
+                         "LEFT JOIN l.listingImages img ON img.isPrimary = true ";
+    
+    // Browse facet selections (see ListingFilter); a null selection matches everything
+    String FILTER = "AND (:#{#filter.type} IS NULL OR l.type = :#{#filter.type}) " +
+                    "AND (:#{#filter.categoryId} IS NULL OR c.id = :#{#filter.categoryId}) " +
+                    "AND (:#{#filter.mode} IS NULL OR l.listingMode = :#{#filter.mode}) " +
+                    "AND (:#{#filter.verified} IS NULL OR l.verified = :#{#filter.verified}) " +
+                    "AND (:#{#filter.minPrice} IS NULL OR l.price >= :#{#filter.minPrice}) " +
+                    "AND (:#{#filter.maxPrice} IS NULL OR l.price < :#{#filter.maxPrice}) ";
+    
     List<Listing> findByStatus(ListingStatus status);
+    
+    // Detail, edit and verify pages share one fetch plan (see the named entity graph on Listing)
+    @EntityGraph(Listing.GRAPH_FULL)
+    Optional<Listing> findFullById(Long id);
+    
+    // Conditional GET check for the detail page: scalar columns only, no entity hydration
+    @Query("SELECT new com.flippa.dto.ListingVersion(l.id, l.updatedAt, l.imagesVersion, l.websiteInfoVersion, " +
+           "c.updatedAt, l.status) " +
+           "FROM Listing l LEFT JOIN l.category c WHERE l.id = :id")
+    Optional<ListingVersion> findVersionById(@Param("id") Long id);
+    
     List<Listing> findByTypeAndStatus(ListingType type, ListingStatus status);
     List<Listing> findBySellerId(Long sellerId);
     List<Listing> findByFeaturedTrueAndStatus(ListingStatus status);
     
-    @Query("SELECT l FROM Listing l WHERE l.status = :status AND " +
-           "(LOWER(l.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(l.description) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Listing> searchListings(@Param("query") String query, @Param("status") ListingStatus status);
+    // Keyset pages for the browse page: each query seeks past the last (sort key, id) seen,
+    // so page N reads the same number of index entries as page 1. Pass the Pageable as
+    // PageRequest.of(0, size) - the offset is always 0.
+    @Query(CARD_SELECT + "WHERE l.status = :status AND " +
+           "(l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+           FILTER +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<ListingCard> findPageByNewest(@Param("status") ListingStatus status,
+                                       @Param("filter") ListingFilter filter,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE l.status = :status AND l.auctionEndDate IS NOT NULL AND " +
+           "(l.auctionEndDate > :endDate OR (l.auctionEndDate = :endDate AND l.id > :id)) " +
+           FILTER +
+           "ORDER BY l.auctionEndDate ASC, l.id ASC")
+    List<ListingCard> findPageByEndingSoon(@Param("status") ListingStatus status,
+                                           @Param("filter") ListingFilter filter,
+                                           @Param("endDate") LocalDateTime endDate,
+                                           @Param("id") Long id, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE l.featured = true AND l.status = :status ORDER BY l.createdAt DESC, l.id DESC")
+    List<ListingCard> findFeaturedCards(@Param("status") ListingStatus status, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE l.id IN :ids AND l.status = :status")
+    List<ListingCard> findCardsByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ListingStatus status);
+    
+    // Precomputed neighbours of a listing, best first; one primary key range read on similar_listings
+    @Query(CARD_SELECT + "JOIN SimilarListing s ON s.similarListingId = l.id " +
+           "WHERE s.listingId = :listingId AND l.status = :status ORDER BY s.neighbourRank")
+    List<ListingCard> findSimilarCards(@Param("listingId") Long listingId, @Param("status") ListingStatus status);
+    
+    // Scalar rows (id, type, category id, mode, verified, price) for building the facet bitmaps
+    @Query("SELECT l.id, l.type, c.id, l.listingMode, l.verified, l.price FROM Listing l " +
+           "LEFT JOIN l.category c WHERE l.status = :status")
+    Stream<Object[]> streamFacetDocuments(@Param("status") ListingStatus status);
+    
+    // Scalar rows (id, price) in price order for building the in-memory price index
+    @Query("SELECT l.id, l.price FROM Listing l WHERE l.status = :status ORDER BY l.price ASC, l.id ASC")
+    Stream<Object[]> streamPriceDocuments(@Param("status") ListingStatus status);
+    
+    // Scalar rows (id, title, featured, verified, category id, category name, platform) for the typeahead trie
+    @Query("SELECT l.id, l.title, l.featured, l.verified, c.id, c.name, w.platform FROM Listing l " +
+           "LEFT JOIN l.category c LEFT JOIN l.websiteInfo w WHERE l.status = :status")
+    Stream<Object[]> streamSuggestionDocuments(@Param("status") ListingStatus status);
+    
+    // Scalar rows (id, title, category name) for building the trigram fuzzy-match index
+    @Query("SELECT l.id, l.title, c.name FROM Listing l LEFT JOIN l.category c WHERE l.status = :status")
+    Stream<Object[]> streamTrigramDocuments(@Param("status") ListingStatus status);
+    
+    // The same rows for one category's listings, to relabel them after a category rename
+    @Query("SELECT l.id, l.title, c.name FROM Listing l JOIN l.category c " +
+           "WHERE l.status = :status AND c.id = :categoryId")
+    Stream<Object[]> streamTrigramDocumentsByCategory(@Param("status") ListingStatus status,
+                                                      @Param("categoryId") Long categoryId);
+    
+    // Scalar rows (id, title, description, platform) for the similar-listings job
+    @Query("SELECT l.id, l.title, l.description, w.platform FROM Listing l LEFT JOIN l.websiteInfo w " +
+           "WHERE l.status = :status")
+    Stream<Object[]> streamSimilarityDocuments(@Param("status") ListingStatus status);
+    
+    // Scalar rows (id, title, description) in id order for building the in-memory search index
+    @Query("SELECT l.id, l.title, l.description FROM Listing l WHERE l.status = :status ORDER BY l.id")
+    Stream<Object[]> streamSearchDocuments(@Param("status") ListingStatus status);
+    
+    // Rows (listing, seller email, category name) in id order for the admin export. The one-to-one
+    // sides are fetched in the same row because Hibernate would otherwise load each one separately.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l, s.email, c.name FROM Listing l JOIN l.seller s LEFT JOIN l.category c " +
+           "LEFT JOIN FETCH l.websiteInfo LEFT JOIN FETCH l.domainVerification " +
+           "LEFT JOIN FETCH l.socialMediaVerification ORDER BY l.id")
+    Stream<Object[]> streamForExport();
 }
 
@@ -1,11 +1,18 @@
 package com.flippa.repository;
 
 import com.flippa.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.flippa.repository.ListingRepository.EXPORT_FETCH_SIZE;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -13,5 +20,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByGatewayTransactionId(String gatewayTransactionId);
     List<Payment> findByUserId(Long userId);
     List<Payment> findByEscrowId(Long escrowId);
+    
+    // Rows (payment, user email) in id order for the admin export
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p, u.email FROM Payment p JOIN p.user u ORDER BY p.id")
+    Stream<Object[]> streamForExport();
 }
 
@@ -0,0 +1,27 @@
+package com.flippa.repository;
+
+import com.flippa.entity.Listing.ListingStatus;
+import com.flippa.entity.SavedSearchMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SavedSearchMatchRepository extends JpaRepository<SavedSearchMatch, Long> {
+    
+    // Queued matches the user has not seen yet, skipping listings that have since gone off the market
+    @Query("SELECT m FROM SavedSearchMatch m JOIN FETCH m.listing l JOIN FETCH m.savedSearch s " +
+           "WHERE s.user.id = :userId AND m.seenAt IS NULL AND l.status = :status " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<SavedSearchMatch> findUnseenByUserId(@Param("userId") Long userId, @Param("status") ListingStatus status);
+    
+    @Modifying
+    @Query("UPDATE SavedSearchMatch m SET m.seenAt = :seenAt WHERE m.seenAt IS NULL " +
+           "AND m.savedSearch.id IN (SELECT s.id FROM SavedSearch s WHERE s.user.id = :userId)")
+    int markSeenByUserId(@Param("userId") Long userId, @Param("seenAt") LocalDateTime seenAt);
+}
@@ -0,0 +1,31 @@
+package com.flippa.repository;
+
+import com.flippa.entity.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    
+    @Query("SELECT s FROM SavedSearch s LEFT JOIN FETCH s.category WHERE s.user.id = :userId " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<SavedSearch> findByUserIdWithCategory(@Param("userId") Long userId);
+    
+    long countByUserId(Long userId);
+    
+    // Of the given saved searches, those that still exist and have not been matched to the listing yet
+    @Query("SELECT s.id FROM SavedSearch s WHERE s.id IN :ids AND NOT EXISTS " +
+           "(SELECT m.id FROM SavedSearchMatch m WHERE m.savedSearch = s AND m.listing.id = :listingId)")
+    List<Long> findIdsNotYetMatched(@Param("ids") Collection<Long> ids, @Param("listingId") Long listingId);
+    
+    // Scalar rows (id, user id, query, type, category id, mode, verified only, price bucket) for the percolator
+    @Query("SELECT s.id, s.user.id, s.query, s.listingType, c.id, s.listingMode, s.verifiedOnly, s.priceBucket " +
+           "FROM SavedSearch s LEFT JOIN s.category c")
+    Stream<Object[]> streamPercolatorDocuments();
+}
@@ -2,6 +2,8 @@ package com.flippa.repository;
 
 import com.flippa.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,5 +12,9 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    // Current roles for authorization checks, without loading the user
+    @Query("SELECT u.roleMask FROM User u WHERE u.id = :id")
+    Optional<Integer> findRoleMaskById(@Param("id") Long id);
 }
 
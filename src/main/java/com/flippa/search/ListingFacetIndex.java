@@ -0,0 +1,284 @@
+package com.flippa.search;
+
+import com.flippa.dto.FacetCounts;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.PriceBucket;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory facet engine for the browse page. Keeps one compressed bitmap of ACTIVE
+ * listing IDs per facet value (type, category, mode, verified, price bucket), so
+ * filter intersections and the counts next to each facet never touch the database.
+ * Built once at startup and kept current by the services that change listings.
+ */
+@Component
+public class ListingFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingFacetIndex.class);
+
+    private final ListingRepository listingRepository;
+
+    private final RoaringBitmap active = new RoaringBitmap();
+    private final Map<Listing.ListingType, RoaringBitmap> byType = new EnumMap<>(Listing.ListingType.class);
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Listing.ListingMode, RoaringBitmap> byMode = new EnumMap<>(Listing.ListingMode.class);
+    private final RoaringBitmap verified = new RoaringBitmap();
+    private final Map<PriceBucket, RoaringBitmap> byPrice = new EnumMap<>(PriceBucket.class);
+    // listing id -> indexed facet values, used to unlink a listing on update or removal
+    private final Map<Integer, FacetValues> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ListingFacetIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Builds the bitmaps from all ACTIVE listings once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            try (Stream<Object[]> rows = listingRepository.streamFacetDocuments(Listing.ListingStatus.ACTIVE)) {
+                rows.forEach(row -> add(toIndex((Long) row[0]), new FacetValues(
+                    (Listing.ListingType) row[1], (Long) row[2], (Listing.ListingMode) row[3],
+                    Boolean.TRUE.equals(row[4]), PriceBucket.of((BigDecimal) row[5]))));
+            }
+            active.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Listing facet index built: {} listings in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes the listing if it is ACTIVE, otherwise removes it from every facet.
+     */
+    public void update(Listing listing) {
+        if (listing == null || listing.getId() == null) {
+            return;
+        }
+        if (listing.getStatus() != Listing.ListingStatus.ACTIVE) {
+            remove(listing.getId());
+            return;
+        }
+        FacetValues values = new FacetValues(listing.getType(),
+            listing.getCategory() != null ? listing.getCategory().getId() : null,
+            listing.getListingMode(), Boolean.TRUE.equals(listing.getVerified()), PriceBucket.of(listing.getPrice()));
+        int id = toIndex(listing.getId());
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            add(id, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long listingId) {
+        int id = toIndex(listingId);
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of ACTIVE listings matching every selection of the filter.
+     * The bitmap is a copy the caller may keep or modify.
+     */
+    public RoaringBitmap match(ListingFilter filter) {
+        lock.readLock().lock();
+        try {
+            return intersect(filter, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(ListingFilter filter) {
+        lock.readLock().lock();
+        try {
+            return intersect(filter, null).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts ACTIVE listings per facet value. Each facet is counted against the other
+     * facets' selections only, so choosing a type still shows how many of each other type exist.
+     */
+    public FacetCounts counts(ListingFilter filter) {
+        return counts(filter, null);
+    }
+
+    /**
+     * Counts facet values within {@code scope} (for example the hits of a search),
+     * or across all ACTIVE listings when the scope is null.
+     */
+    public FacetCounts counts(ListingFilter filter, RoaringBitmap scope) {
+        FacetCounts counts = new FacetCounts();
+        lock.readLock().lock();
+        try {
+            counts.setTotal(intersect(filter, scope).getCardinality());
+
+            ListingFilter anyType = filter.copy();
+            anyType.setType(null);
+            RoaringBitmap typeBase = intersect(anyType, scope);
+            byType.forEach((type, ids) -> putIfPositive(counts.getTypes(), type, RoaringBitmap.andCardinality(typeBase, ids)));
+
+            ListingFilter anyCategory = filter.copy();
+            anyCategory.setCategoryId(null);
+            RoaringBitmap categoryBase = intersect(anyCategory, scope);
+            byCategory.forEach((categoryId, ids) ->
+                putIfPositive(counts.getCategories(), categoryId, RoaringBitmap.andCardinality(categoryBase, ids)));
+
+            ListingFilter anyMode = filter.copy();
+            anyMode.setMode(null);
+            RoaringBitmap modeBase = intersect(anyMode, scope);
+            byMode.forEach((mode, ids) -> putIfPositive(counts.getModes(), mode, RoaringBitmap.andCardinality(modeBase, ids)));
+
+            ListingFilter anyVerified = filter.copy();
+            anyVerified.setVerified(null);
+            counts.setVerified(RoaringBitmap.andCardinality(intersect(anyVerified, scope), verified));
+
+            ListingFilter anyPrice = filter.copy();
+            anyPrice.setPriceBucket(null);
+            RoaringBitmap priceBase = intersect(anyPrice, scope);
+            byPrice.forEach((bucket, ids) ->
+                putIfPositive(counts.getPriceBuckets(), bucket, RoaringBitmap.andCardinality(priceBase, ids)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return active.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap intersect(ListingFilter filter, RoaringBitmap scope) {
+        RoaringBitmap result = scope != null ? RoaringBitmap.and(active, scope) : active.clone();
+        if (filter == null) {
+            return result;
+        }
+        if (filter.getType() != null) {
+            result.and(orEmpty(byType.get(filter.getType())));
+        }
+        if (filter.getCategoryId() != null) {
+            result.and(orEmpty(byCategory.get(filter.getCategoryId())));
+        }
+        if (filter.getMode() != null) {
+            result.and(orEmpty(byMode.get(filter.getMode())));
+        }
+        if (Boolean.TRUE.equals(filter.getVerified())) {
+            result.and(verified);
+        } else if (Boolean.FALSE.equals(filter.getVerified())) {
+            result.andNot(verified);
+        }
+        if (filter.getPriceBucket() != null) {
+            result.and(orEmpty(byPrice.get(filter.getPriceBucket())));
+        }
+        return result;
+    }
+
+    private void add(int id, FacetValues values) {
+        active.add(id);
+        if (values.type() != null) {
+            byType.computeIfAbsent(values.type(), k -> new RoaringBitmap()).add(id);
+        }
+        if (values.categoryId() != null) {
+            byCategory.computeIfAbsent(values.categoryId(), k -> new RoaringBitmap()).add(id);
+        }
+        if (values.mode() != null) {
+            byMode.computeIfAbsent(values.mode(), k -> new RoaringBitmap()).add(id);
+        }
+        if (values.verified()) {
+            verified.add(id);
+        }
+        if (values.priceBucket() != null) {
+            byPrice.computeIfAbsent(values.priceBucket(), k -> new RoaringBitmap()).add(id);
+        }
+        documents.put(id, values);
+    }
+
+    private void unlink(int id) {
+        FacetValues values = documents.remove(id);
+        if (values == null) {
+            return;
+        }
+        active.remove(id);
+        removeFrom(byType, values.type(), id);
+        removeFrom(byCategory, values.categoryId(), id);
+        removeFrom(byMode, values.mode(), id);
+        verified.remove(id);
+        removeFrom(byPrice, values.priceBucket(), id);
+    }
+
+    private void clear() {
+        active.clear();
+        byType.clear();
+        byCategory.clear();
+        byMode.clear();
+        verified.clear();
+        byPrice.clear();
+        documents.clear();
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> facet, K value, int id) {
+        if (value == null) {
+            return;
+        }
+        RoaringBitmap ids = facet.get(value);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                facet.remove(value);
+            }
+        }
+    }
+
+    private static <K> void putIfPositive(Map<K, Integer> counts, K key, int count) {
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+
+    private static RoaringBitmap orEmpty(RoaringBitmap bitmap) {
+        return bitmap != null ? bitmap : new RoaringBitmap();
+    }
+
+    private static int toIndex(Long listingId) {
+        return Math.toIntExact(listingId);
+    }
+
+    private record FacetValues(Listing.ListingType type, Long categoryId, Listing.ListingMode mode,
+                               boolean verified, PriceBucket priceBucket) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.flippa.search;
+
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import lombok.Value;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory price order of ACTIVE listings: two parallel primitive arrays, prices in cents and
+ * listing IDs, sorted by (price, id). Range filters are binary searches and price-sorted pages
+ * are array walks, with no BigDecimal comparisons or boxing.
+ * <p>
+ * Costs 16 bytes per listing plus at most 1/8 spare capacity. There is no id -> slot map;
+ * a write finds the listing's old slot with a linear scan of the id array, which is cheap next
+ * to the array shift every insert or removal does anyway.
+ */
+@Component
+public class ListingPriceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingPriceIndex.class);
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final ListingRepository listingRepository;
+
+    private long[] cents = new long[MIN_CAPACITY];
+    private long[] ids = new long[MIN_CAPACITY];
+    private int size;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ListingPriceIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Loads all ACTIVE listings, already in (price, id) order, once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            try (Stream<Object[]> rows = listingRepository.streamPriceDocuments(Listing.ListingStatus.ACTIVE)) {
+                rows.forEach(row -> {
+                    ensureCapacity(size + 1);
+                    ids[size] = (Long) row[0];
+                    cents[size] = toCents((BigDecimal) row[1]);
+                    size++;
+                });
+            }
+            trimToSize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Listing price index built: {} listings, {} bytes in {} ms",
+                   size(), memoryBytes(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes the listing at its current price if it is ACTIVE, otherwise removes it.
+     */
+    public void update(Listing listing) {
+        if (listing == null || listing.getId() == null) {
+            return;
+        }
+        if (listing.getStatus() == Listing.ListingStatus.ACTIVE && listing.getPrice() != null) {
+            put(listing.getId(), toCents(listing.getPrice()));
+        } else {
+            remove(listing.getId());
+        }
+    }
+
+    public void put(long listingId, long priceCents) {
+        lock.writeLock().lock();
+        try {
+            removeAt(indexOf(listingId));
+            int slot = lowerBound(priceCents, listingId);
+            ensureCapacity(size + 1);
+            System.arraycopy(cents, slot, cents, slot + 1, size - slot);
+            System.arraycopy(ids, slot, ids, slot + 1, size - slot);
+            cents[slot] = priceCents;
+            ids[slot] = listingId;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long listingId) {
+        lock.writeLock().lock();
+        try {
+            removeAt(indexOf(listingId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts listings priced in [minCents, maxCents).
+     */
+    public int count(long minCents, long maxCents) {
+        lock.readLock().lock();
+        try {
+            return Math.max(0, lowerBound(maxCents, Long.MIN_VALUE) - lowerBound(minCents, Long.MIN_VALUE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} listing IDs priced in [minCents, maxCents), in price order,
+     * strictly after the keyset position (afterCents, afterId). Pass Long.MIN_VALUE (ascending)
+     * or Long.MAX_VALUE (descending) as afterCents for the first page. When {@code allowed} is
+     * not null only the IDs it contains are returned.
+     */
+    public long[] page(boolean descending, long afterCents, long afterId, long minCents, long maxCents,
+                       RoaringBitmap allowed, int limit) {
+        return slice(descending, afterCents, afterId, minCents, maxCents, allowed, limit).getIds();
+    }
+
+    /**
+     * Same walk as {@link #page}, also returning each listing's indexed price so callers can
+     * continue from, or build a cursor at, any returned entry.
+     */
+    public Slice slice(boolean descending, long afterCents, long afterId, long minCents, long maxCents,
+                       RoaringBitmap allowed, int limit) {
+        long[] resultIds = new long[Math.max(0, limit)];
+        long[] resultCents = new long[resultIds.length];
+        int found = 0;
+        lock.readLock().lock();
+        try {
+            if (descending) {
+                int from = Math.min(lowerBound(afterCents, afterId), lowerBound(maxCents, Long.MIN_VALUE)) - 1;
+                for (int i = from; i >= 0 && cents[i] >= minCents && found < limit; i--) {
+                    if (allowed == null || allowed.contains(Math.toIntExact(ids[i]))) {
+                        resultIds[found] = ids[i];
+                        resultCents[found++] = cents[i];
+                    }
+                }
+            } else {
+                int from = Math.max(upperBound(afterCents, afterId), lowerBound(minCents, Long.MIN_VALUE));
+                for (int i = from; i < size && cents[i] < maxCents && found < limit; i++) {
+                    if (allowed == null || allowed.contains(Math.toIntExact(ids[i]))) {
+                        resultIds[found] = ids[i];
+                        resultCents[found++] = cents[i];
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found == resultIds.length ? new Slice(resultIds, resultCents)
+            : new Slice(Arrays.copyOf(resultIds, found), Arrays.copyOf(resultCents, found));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the two arrays, including spare capacity.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) Long.BYTES * (cents.length + ids.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Converts a price to whole cents, rounding half up; null prices sort first.
+     */
+    public static long toCents(BigDecimal price) {
+        if (price == null) {
+            return Long.MIN_VALUE;
+        }
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long priceCents) {
+        return BigDecimal.valueOf(priceCents, 2);
+    }
+
+    // First slot whose (price, id) is >= the given pair
+    private int lowerBound(long priceCents, long listingId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] < priceCents || (cents[mid] == priceCents && ids[mid] < listingId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First slot whose (price, id) is > the given pair
+    private int upperBound(long priceCents, long listingId) {
+        int slot = lowerBound(priceCents, listingId);
+        return slot < size && cents[slot] == priceCents && ids[slot] == listingId ? slot + 1 : slot;
+    }
+
+    private int indexOf(long listingId) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == listingId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int slot) {
+        if (slot < 0) {
+            return;
+        }
+        System.arraycopy(cents, slot + 1, cents, slot, size - slot - 1);
+        System.arraycopy(ids, slot + 1, ids, slot, size - slot - 1);
+        size--;
+        if (cents.length > MIN_CAPACITY && size < cents.length / 2) {
+            trimToSize();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cents.length) {
+            return;
+        }
+        // Grow by 1/8 rather than doubling to stay close to 16 bytes per listing
+        int capacity = Math.max(required, cents.length + (cents.length >> 3));
+        cents = Arrays.copyOf(cents, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+    }
+
+    private void trimToSize() {
+        int capacity = Math.max(MIN_CAPACITY, size + (size >> 3));
+        if (capacity != cents.length) {
+            cents = Arrays.copyOf(cents, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+    }
+
+    /**
+     * Listing IDs in index order with their indexed prices in cents, position by position.
+     */
+    @Value
+    public static class Slice {
+        long[] ids;
+        long[] cents;
+
+        public int size() {
+            return ids.length;
+        }
+    }
+}
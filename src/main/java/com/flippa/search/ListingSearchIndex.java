@@ -0,0 +1,377 @@
+package com.flippa.search;
+
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the titles and descriptions of ACTIVE listings, built once at
+ * startup and kept current by {@link com.flippa.service.ListingChangeListener}.
+ * <p>
+ * Each term keeps its postings as a sorted {@code int[]} of listing ids with a parallel
+ * {@code short[]} of weighted term frequencies, about six bytes per posting. A listing keeps
+ * references to the postings it appears in, so it can be unlinked without storing its terms.
+ * Prefix matches score at most {@link #MAX_PREFIX_EXPANSIONS} terms and
+ * {@link #MAX_PREFIX_POSTINGS} postings per query term, so a short prefix stays cheap.
+ */
+@Component
+public class ListingSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingSearchIndex.class);
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    static final int MAX_PREFIX_POSTINGS = 100_000;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "that", "the", "this", "to", "with"
+    );
+
+    private final ListingRepository listingRepository;
+
+    // term -> its postings; sorted so prefix queries are a subMap
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    // listing id -> the postings it was added to, used to unlink it on update or removal
+    private final Map<Integer, Postings[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ListingSearchIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Builds the index from all ACTIVE listings once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            // Rows arrive in id order, so every posting is an append
+            try (Stream<Object[]> rows = listingRepository.streamSearchDocuments(Listing.ListingStatus.ACTIVE)) {
+                rows.forEach(row -> addDocument(Math.toIntExact((Long) row[0]), (String) row[1], (String) row[2]));
+            }
+            postings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Listing search index built: {} listings, {} terms in {} ms",
+                   size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes the listing if it is ACTIVE, otherwise removes it from the index.
+     */
+    public void update(Listing listing) {
+        if (listing == null || listing.getId() == null) {
+            return;
+        }
+        if (listing.getStatus() == Listing.ListingStatus.ACTIVE) {
+            index(listing.getId(), listing.getTitle(), listing.getDescription());
+        } else {
+            remove(listing.getId());
+        }
+    }
+
+    public void index(Long listingId, String title, String description) {
+        int id = Math.toIntExact(listingId);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            addDocument(id, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long listingId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(Math.toIntExact(listingId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} listing IDs matching every term of the query, best match first.
+     * Each query term also matches indexed terms it is a prefix of ("shop" finds "shopify"),
+     * scored lower than an exact term match.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Hits hits = null;
+            for (String term : terms) {
+                Hits termHits = scoreTerm(term);
+                hits = hits == null ? termHits : intersect(hits, termHits);
+                if (hits.size == 0) {
+                    return Collections.emptyList();
+                }
+            }
+            return topIds(hits, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases and splits text on anything that is not a letter or digit,
+     * dropping stop words and single characters.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        forEachToken(text, tokens::add);
+        return new ArrayList<>(tokens);
+    }
+
+    private void addDocument(int id, String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        accumulate(weights, title, TITLE_WEIGHT);
+        accumulate(weights, description, DESCRIPTION_WEIGHT);
+        if (weights.isEmpty()) {
+            return;
+        }
+        Postings[] linked = new Postings[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            list.put(id, entry.getValue());
+            linked[i++] = list;
+        }
+        documents.put(id, linked);
+    }
+
+    private void removeDocument(int id) {
+        Postings[] linked = documents.remove(id);
+        if (linked == null) {
+            return;
+        }
+        for (Postings list : linked) {
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(list.term);
+            }
+        }
+    }
+
+    private static void accumulate(Map<String, Integer> weights, String text, int weight) {
+        if (text != null) {
+            forEachToken(text, token -> weights.merge(token, weight, Integer::sum));
+        }
+    }
+
+    private static void forEachToken(String text, Consumer<String> action) {
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                action.accept(token);
+            }
+        }
+    }
+
+    /**
+     * Scores every listing containing the term or, within the expansion caps, a term it is a
+     * prefix of. A listing found under several terms keeps its best score.
+     */
+    private Hits scoreTerm(String term) {
+        int documentCount = Math.max(documents.size(), 1);
+        List<Postings> lists = new ArrayList<>();
+        List<Double> factors = new ArrayList<>();
+        int prefixPostings = 0;
+        for (Postings list : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            boolean exact = list.term.equals(term);
+            if (!exact) {
+                if (lists.size() >= MAX_PREFIX_EXPANSIONS || prefixPostings + list.size > MAX_PREFIX_POSTINGS) {
+                    break;
+                }
+                prefixPostings += list.size;
+            }
+            lists.add(list);
+            factors.add(Math.log(1.0 + (double) documentCount / list.size) * (exact ? 1.0 : 0.5));
+        }
+
+        // k-way merge of the id-sorted lists; each cursor is {list, position}
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(Math.max(1, lists.size()),
+            Comparator.comparingInt((int[] cursor) -> lists.get(cursor[0]).ids[cursor[1]]));
+        int total = 0;
+        for (int l = 0; l < lists.size(); l++) {
+            cursors.add(new int[]{l, 0});
+            total += lists.get(l).size;
+        }
+        Hits hits = new Hits(total);
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            Postings list = lists.get(cursor[0]);
+            int id = list.ids[cursor[1]];
+            double score = (1.0 + Math.log(list.weights[cursor[1]])) * factors.get(cursor[0]);
+            if (hits.size > 0 && hits.ids[hits.size - 1] == id) {
+                hits.scores[hits.size - 1] = Math.max(hits.scores[hits.size - 1], score);
+            } else {
+                hits.add(id, score);
+            }
+            if (++cursor[1] < list.size) {
+                cursors.add(cursor);
+            }
+        }
+        return hits;
+    }
+
+    private static Hits intersect(Hits left, Hits right) {
+        Hits result = new Hits(Math.min(left.size, right.size));
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.ids[i] < right.ids[j]) {
+                i++;
+            } else if (left.ids[i] > right.ids[j]) {
+                j++;
+            } else {
+                result.add(left.ids[i], left.scores[i++] + right.scores[j++]);
+            }
+        }
+        return result;
+    }
+
+    private static List<Long> topIds(Hits hits, int limit) {
+        // Min-heap of the best hits seen so far; ties go to the newer (higher) id
+        PriorityQueue<Integer> heap = new PriorityQueue<>((a, b) -> {
+            int byScore = Double.compare(hits.scores[a], hits.scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(hits.ids[a], hits.ids[b]);
+        });
+        for (int i = 0; i < hits.size; i++) {
+            heap.offer(i);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        Long[] ids = new Long[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = (long) hits.ids[heap.poll()];
+        }
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * One term's postings: listing ids in ascending order with their weights alongside.
+     */
+    private static final class Postings {
+        final String term;
+        int[] ids = new int[2];
+        short[] weights = new short[2];
+        int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void put(int id, int weight) {
+            short clamped = (short) Math.min(weight, Short.MAX_VALUE);
+            int index = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = clamped;
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            ids[index] = id;
+            weights[index] = clamped;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+                weights = Arrays.copyOf(weights, size);
+            }
+        }
+    }
+
+    /**
+     * Scored listing ids in ascending id order.
+     */
+    private static final class Hits {
+        int[] ids;
+        double[] scores;
+        int size;
+
+        Hits(int capacity) {
+            ids = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void add(int id, double score) {
+            ids[size] = id;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.flippa.search;
+
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Typo-tolerant fallback for the search page: character trigrams of ACTIVE listing titles and
+ * category names, each mapped to a bitmap of listing IDs. Every listing sharing a trigram with the
+ * query is scored by how many of the query's trigrams it contains, so "shopfy store" still finds
+ * "Shopify Store".
+ * <p>
+ * Each listing keeps at most {@link #MAX_TRIGRAMS_PER_LISTING} distinct trigrams, taken from the
+ * start of its text, which bounds its share of the index however long the title is.
+ */
+@Component
+public class ListingTrigramIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingTrigramIndex.class);
+
+    static final int MAX_TRIGRAMS_PER_LISTING = 64;
+    // Share of the query's trigrams a listing must contain to be a candidate
+    private static final double MIN_COVERAGE = 0.5;
+    // Among equally covered listings, prefer those with less unrelated text
+    private static final double DICE_TIE_BREAK = 0.1;
+
+    private final ListingRepository listingRepository;
+
+    // packed trigram -> listings containing it
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    // listing id -> its packed trigrams, used to unlink it on update or removal
+    private final Map<Integer, long[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ListingTrigramIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Builds the index from all ACTIVE listings once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            try (Stream<Object[]> rows = listingRepository.streamTrigramDocuments(Listing.ListingStatus.ACTIVE)) {
+                rows.forEach(row -> add(Math.toIntExact((Long) row[0]), trigrams((String) row[1], (String) row[2])));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Listing trigram index built: {} listings, {} trigrams in {} ms",
+                   size(), trigramCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-indexes the ACTIVE listings of one category under its current name, leaving the rest
+     * of the index untouched.
+     */
+    @Transactional(readOnly = true)
+    public void relabelCategory(Long categoryId) {
+        try (Stream<Object[]> rows = listingRepository.streamTrigramDocumentsByCategory(
+                Listing.ListingStatus.ACTIVE, categoryId)) {
+            rows.forEach(row -> index((Long) row[0], (String) row[1], (String) row[2]));
+        }
+    }
+
+    /**
+     * Indexes the listing if it is ACTIVE, otherwise removes it.
+     */
+    public void update(Listing listing) {
+        if (listing == null || listing.getId() == null) {
+            return;
+        }
+        if (listing.getStatus() == Listing.ListingStatus.ACTIVE) {
+            index(listing.getId(), listing.getTitle(),
+                  listing.getCategory() != null ? listing.getCategory().getName() : null);
+        } else {
+            remove(listing.getId());
+        }
+    }
+
+    public void index(Long listingId, String title, String categoryName) {
+        long[] grams = trigrams(title, categoryName);
+        int id = Math.toIntExact(listingId);
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            add(id, grams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long listingId) {
+        lock.writeLock().lock();
+        try {
+            unlink(Math.toIntExact(listingId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} listing IDs similar to the query, most similar first.
+     */
+    public List<Long> search(String query, int limit) {
+        long[] queryGrams = trigrams(query, null);
+        if (queryGrams.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (long gram : queryGrams) {
+                RoaringBitmap ids = postings.get(gram);
+                if (ids != null) {
+                    ids.forEach((int id) -> shared.merge(id, 1, Integer::sum));
+                }
+            }
+            // Min-heap of the best matches so far; ties go to the newer (higher) id
+            PriorityQueue<double[]> heap = new PriorityQueue<>(
+                (a, b) -> a[1] != b[1] ? Double.compare(a[1], b[1]) : Double.compare(a[0], b[0]));
+            for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+                double coverage = (double) entry.getValue() / queryGrams.length;
+                if (coverage >= MIN_COVERAGE) {
+                    double dice = 2.0 * entry.getValue() / (queryGrams.length + documents.get(entry.getKey()).length);
+                    heap.offer(new double[]{entry.getKey(), coverage + DICE_TIE_BREAK * dice});
+                    if (heap.size() > limit) {
+                        heap.poll();
+                    }
+                }
+            }
+            Long[] ids = new Long[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = (long) heap.poll()[0];
+            }
+            return Arrays.asList(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct trigrams of each word, padded so word starts and ends count ("  s", " sh", ..., "fy "),
+     * packed three UTF-16 chars to a long.
+     */
+    static long[] trigrams(String text, String more) {
+        Set<Long> grams = new LinkedHashSet<>();
+        collect(text, grams);
+        collect(more, grams);
+        List<Long> list = new ArrayList<>(grams);
+        long[] packed = new long[Math.min(list.size(), MAX_TRIGRAMS_PER_LISTING)];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = list.get(i);
+        }
+        return packed;
+    }
+
+    private static void collect(String text, Set<Long> grams) {
+        if (text == null) {
+            return;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length() && grams.size() < MAX_TRIGRAMS_PER_LISTING; i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+    }
+
+    private void add(int id, long[] grams) {
+        if (grams.length == 0) {
+            return;
+        }
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, k -> new RoaringBitmap()).add(id);
+        }
+        documents.put(id, grams);
+    }
+
+    private void unlink(int id) {
+        long[] grams = documents.remove(id);
+        if (grams == null) {
+            return;
+        }
+        for (long gram : grams) {
+            RoaringBitmap ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+}
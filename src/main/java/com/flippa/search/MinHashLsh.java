@@ -0,0 +1,189 @@
+package com.flippa.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Approximate nearest neighbours by Jaccard similarity of feature sets. Each document gets a
+ * MinHash signature of {@link #NUM_HASHES} values; two signatures agree in a position with
+ * probability equal to the Jaccard similarity of their sets. Signatures are cut into
+ * {@link #BANDS} bands, and only documents sharing a whole band (locality-sensitive hashing)
+ * are compared, which makes the job roughly linear in the number of documents.
+ * <p>
+ * Signing and neighbour search both run as fork-join tasks over partitions of the documents.
+ */
+public final class MinHashLsh {
+
+    static final int NUM_HASHES = 64;
+    static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    // Documents per fork-join leaf task
+    private static final int PARTITION_SIZE = 256;
+    // Buckets bigger than this hold boilerplate rather than near-duplicates; skipping them bounds the work
+    private static final int MAX_BUCKET_SIZE = 500;
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHashLsh() {
+    }
+
+    /**
+     * For each document, up to {@code k} other documents with an estimated similarity of at
+     * least {@code minScore}, most similar first. Results are indexes into {@code documents}.
+     */
+    public static List<List<Neighbour>> topNeighbours(List<? extends Set<String>> documents, int k, double minScore) {
+        int n = documents.size();
+        long[][] signatures = new long[n][];
+        new PartitionTask(0, n, i -> signatures[i] = signature(documents.get(i))).invoke();
+
+        List<Map<Long, List<Integer>>> bands = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                if (signatures[i] != null) {
+                    buckets.computeIfAbsent(bandKey(signatures[i], band), key -> new ArrayList<>()).add(i);
+                }
+            }
+            bands.add(buckets);
+        }
+
+        List<List<Neighbour>> result = new ArrayList<>(Collections.nCopies(n, Collections.emptyList()));
+        new PartitionTask(0, n, i -> {
+            if (signatures[i] != null) {
+                result.set(i, nearest(i, signatures, bands, k, minScore));
+            }
+        }).invoke();
+        return result;
+    }
+
+    /**
+     * MinHash signature of a feature set, or null for an empty set.
+     */
+    static long[] signature(Set<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String feature : features) {
+            long base = mix(feature.hashCode());
+            for (int h = 0; h < NUM_HASHES; h++) {
+                long value = mix(base ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(long[] a, long[] b) {
+        int agree = 0;
+        for (int h = 0; h < NUM_HASHES; h++) {
+            if (a[h] == b[h]) {
+                agree++;
+            }
+        }
+        return (double) agree / NUM_HASHES;
+    }
+
+    private static List<Neighbour> nearest(int i, long[][] signatures, List<Map<Long, List<Integer>>> bands,
+                                           int k, double minScore) {
+        Set<Integer> seen = new HashSet<>();
+        PriorityQueue<Neighbour> heap = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::getScore)
+            .thenComparing(Neighbour::getIndex, Comparator.reverseOrder()));
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> bucket = bands.get(band).get(bandKey(signatures[i], band));
+            if (bucket.size() > MAX_BUCKET_SIZE) {
+                continue;
+            }
+            for (int j : bucket) {
+                if (j == i || !seen.add(j)) {
+                    continue;
+                }
+                double score = similarity(signatures[i], signatures[j]);
+                if (score >= minScore) {
+                    heap.offer(new Neighbour(j, score));
+                    if (heap.size() > k) {
+                        heap.poll();
+                    }
+                }
+            }
+        }
+        Neighbour[] best = new Neighbour[heap.size()];
+        for (int r = best.length - 1; r >= 0; r--) {
+            best[r] = heap.poll();
+        }
+        return Arrays.asList(best);
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int r = band * ROWS_PER_BAND; r < (band + 1) * ROWS_PER_BAND; r++) {
+            key = mix(key * 31 + signature[r]);
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer: a cheap, well-distributed 64-bit hash
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Runs an action for every index in [from, to), splitting the range across the fork-join pool.
+     */
+    private static final class PartitionTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        PartitionTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARTITION_SIZE) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PartitionTask(from, mid, action), new PartitionTask(mid, to, action));
+        }
+    }
+
+    /**
+     * A neighbouring document and its estimated Jaccard similarity.
+     */
+    @lombok.Value
+    public static class Neighbour {
+        int index;
+        double score;
+    }
+}
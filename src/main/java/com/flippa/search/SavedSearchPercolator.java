@@ -0,0 +1,296 @@
+package com.flippa.search;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.PriceBucket;
+import com.flippa.entity.Listing;
+import com.flippa.entity.SavedSearch;
+import com.flippa.repository.SavedSearchRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Reverse index of saved searches: instead of running every saved search against a new listing,
+ * the listing is run against the index. Each saved search with keywords is filed under one anchor
+ * term (its longest), and every facet value maps to a bitmap of the searches that require it or
+ * leave it open. One pass over the listing's word prefixes finds the anchored candidates, the
+ * facet bitmaps narrow them, and only the survivors have their remaining terms checked.
+ * <p>
+ * Keywords follow the search page: every term must be a prefix of some word in the listing's
+ * title or description.
+ */
+@Component
+public class SavedSearchPercolator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchPercolator.class);
+
+    // Shortest token ListingSearchIndex keeps, so also the shortest prefix worth probing
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final SavedSearchRepository savedSearchRepository;
+
+    // anchor term -> saved searches filed under it
+    private final Map<String, RoaringBitmap> byAnchor = new HashMap<>();
+    private final RoaringBitmap withoutTerms = new RoaringBitmap();
+    // Per facet: searches requiring each value, and searches that accept any value
+    private final Map<Listing.ListingType, RoaringBitmap> byType = new EnumMap<>(Listing.ListingType.class);
+    private final RoaringBitmap anyType = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final RoaringBitmap anyCategory = new RoaringBitmap();
+    private final Map<Listing.ListingMode, RoaringBitmap> byMode = new EnumMap<>(Listing.ListingMode.class);
+    private final RoaringBitmap anyMode = new RoaringBitmap();
+    private final RoaringBitmap verifiedOnly = new RoaringBitmap();
+    private final Map<PriceBucket, RoaringBitmap> byPrice = new EnumMap<>(PriceBucket.class);
+    private final RoaringBitmap anyPrice = new RoaringBitmap();
+    // saved search id -> what was indexed, used to check terms and to unlink it on removal
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SavedSearchPercolator(SavedSearchRepository savedSearchRepository) {
+        this.savedSearchRepository = savedSearchRepository;
+    }
+
+    /**
+     * Loads every saved search once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            try (Stream<Object[]> rows = savedSearchRepository.streamPercolatorDocuments()) {
+                rows.forEach(row -> add(toIndex((Long) row[0]), new Document((Long) row[1], (String) row[2],
+                    new ListingFilter((Listing.ListingType) row[3], (Long) row[4], (Listing.ListingMode) row[5],
+                                      Boolean.TRUE.equals(row[6]) ? Boolean.TRUE : null, (PriceBucket) row[7]))));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Saved search percolator built: {} searches, {} anchor terms in {} ms",
+                   size(), anchorCount(), System.currentTimeMillis() - start);
+    }
+
+    public void put(SavedSearch savedSearch) {
+        put(savedSearch.getId(), savedSearch.getUser().getId(), savedSearch.getQuery(), savedSearch.toFilter());
+    }
+
+    public void put(Long savedSearchId, Long userId, String query, ListingFilter filter) {
+        int id = toIndex(savedSearchId);
+        Document document = new Document(userId, query, filter);
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            add(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long savedSearchId) {
+        lock.writeLock().lock();
+        try {
+            unlink(toIndex(savedSearchId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of saved searches the listing satisfies, skipping its seller's own searches.
+     */
+    public List<Long> match(Listing listing) {
+        if (listing == null || listing.getId() == null) {
+            return Collections.emptyList();
+        }
+        Set<String> prefixes = new HashSet<>();
+        addPrefixes(listing.getTitle(), prefixes);
+        addPrefixes(listing.getDescription(), prefixes);
+        Long categoryId = listing.getCategory() != null ? listing.getCategory().getId() : null;
+        Long sellerId = listing.getSeller() != null ? listing.getSeller().getId() : null;
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = withoutTerms.clone();
+            for (String prefix : prefixes) {
+                RoaringBitmap anchored = byAnchor.get(prefix);
+                if (anchored != null) {
+                    candidates.or(anchored);
+                }
+            }
+            candidates.and(either(anyType, byType.get(listing.getType())));
+            candidates.and(either(anyCategory, byCategory.get(categoryId)));
+            candidates.and(either(anyMode, byMode.get(listing.getListingMode())));
+            candidates.and(either(anyPrice, byPrice.get(PriceBucket.of(listing.getPrice()))));
+            if (!Boolean.TRUE.equals(listing.getVerified())) {
+                candidates.andNot(verifiedOnly);
+            }
+
+            List<Long> matches = new ArrayList<>(candidates.getCardinality());
+            candidates.forEach((int id) -> {
+                Document document = documents.get(id);
+                if (!Objects.equals(document.userId, sellerId) && prefixes.containsAll(document.terms)) {
+                    matches.add((long) id);
+                }
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int anchorCount() {
+        lock.readLock().lock();
+        try {
+            return byAnchor.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addPrefixes(String text, Set<String> prefixes) {
+        for (String token : ListingSearchIndex.tokenize(text)) {
+            for (int length = MIN_PREFIX_LENGTH; length <= token.length(); length++) {
+                prefixes.add(token.substring(0, length));
+            }
+        }
+    }
+
+    private void add(int id, Document document) {
+        // Neither terms nor facets: saved before stop-word-only queries were refused, matches nothing
+        if (document.anchor == null && document.filter.isEmpty()) {
+            return;
+        }
+        if (document.anchor != null) {
+            byAnchor.computeIfAbsent(document.anchor, k -> new RoaringBitmap()).add(id);
+        } else {
+            withoutTerms.add(id);
+        }
+        ListingFilter filter = document.filter;
+        addTo(byType, filter.getType(), anyType, id);
+        addTo(byCategory, filter.getCategoryId(), anyCategory, id);
+        addTo(byMode, filter.getMode(), anyMode, id);
+        addTo(byPrice, filter.getPriceBucket(), anyPrice, id);
+        if (Boolean.TRUE.equals(filter.getVerified())) {
+            verifiedOnly.add(id);
+        }
+        documents.put(id, document);
+    }
+
+    private void unlink(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        if (document.anchor != null) {
+            removeFrom(byAnchor, document.anchor, id);
+        } else {
+            withoutTerms.remove(id);
+        }
+        ListingFilter filter = document.filter;
+        removeFrom(byType, filter.getType(), anyType, id);
+        removeFrom(byCategory, filter.getCategoryId(), anyCategory, id);
+        removeFrom(byMode, filter.getMode(), anyMode, id);
+        removeFrom(byPrice, filter.getPriceBucket(), anyPrice, id);
+        verifiedOnly.remove(id);
+    }
+
+    private void clear() {
+        byAnchor.clear();
+        withoutTerms.clear();
+        byType.clear();
+        anyType.clear();
+        byCategory.clear();
+        anyCategory.clear();
+        byMode.clear();
+        anyMode.clear();
+        verifiedOnly.clear();
+        byPrice.clear();
+        anyPrice.clear();
+        documents.clear();
+    }
+
+    private static <K> void addTo(Map<K, RoaringBitmap> facet, K value, RoaringBitmap any, int id) {
+        if (value == null) {
+            any.add(id);
+        } else {
+            facet.computeIfAbsent(value, k -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> facet, K value, RoaringBitmap any, int id) {
+        if (value == null) {
+            any.remove(id);
+        } else {
+            removeFrom(facet, value, id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> facet, K value, int id) {
+        RoaringBitmap ids = facet.get(value);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                facet.remove(value);
+            }
+        }
+    }
+
+    private static RoaringBitmap either(RoaringBitmap any, RoaringBitmap specific) {
+        return specific == null ? any : RoaringBitmap.or(any, specific);
+    }
+
+    private static int toIndex(Long savedSearchId) {
+        return Math.toIntExact(savedSearchId);
+    }
+
+    /**
+     * What the index keeps per saved search: its owner, its terms and its anchor, and its facets.
+     */
+    private static final class Document {
+        final Long userId;
+        final List<String> terms;
+        final String anchor;
+        final ListingFilter filter;
+
+        Document(Long userId, String query, ListingFilter filter) {
+            this.userId = userId;
+            this.terms = ListingSearchIndex.tokenize(query);
+            // The longest term is usually the rarest, so it keeps the candidate lists short
+            String longest = null;
+            for (String term : terms) {
+                if (longest == null || term.length() > longest.length()) {
+                    longest = term;
+                }
+            }
+            this.anchor = longest;
+            this.filter = filter;
+        }
+    }
+}
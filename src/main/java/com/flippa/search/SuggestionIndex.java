@@ -0,0 +1,103 @@
+package com.flippa.search;
+
+import com.flippa.dto.Suggestion;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead suggestions over ACTIVE listing titles, their category names and their platforms.
+ * Readers use an immutable {@link SuggestionTrie}. Writes only mark it stale; a background job
+ * builds a replacement and swaps it in atomically, so lookups never wait on a rebuild.
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private static final int FEATURED_BOOST = 5;
+    private static final int VERIFIED_BOOST = 2;
+
+    private final ListingRepository listingRepository;
+    private final AtomicReference<SuggestionTrie> trie = new AtomicReference<>(SuggestionTrie.EMPTY);
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public SuggestionIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return trie.get().suggest(prefix, Math.min(limit, SuggestionTrie.TOP_K));
+    }
+
+    /**
+     * Called after listing or category writes; the next scheduled refresh rebuilds the trie.
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval:30000}",
+               initialDelayString = "${app.suggest.refresh-interval:30000}")
+    @Transactional(readOnly = true)
+    public void refreshIfStale() {
+        if (stale.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder();
+        Map<Long, String> categoryNames = new HashMap<>();
+        Map<Long, Integer> categoryCounts = new HashMap<>();
+        Map<String, String> platformNames = new HashMap<>();
+        Map<String, Integer> platformCounts = new HashMap<>();
+
+        try (Stream<Object[]> rows = listingRepository.streamSuggestionDocuments(Listing.ListingStatus.ACTIVE)) {
+            rows.forEach(row -> {
+                Long id = (Long) row[0];
+                int weight = 1 + (Boolean.TRUE.equals(row[2]) ? FEATURED_BOOST : 0)
+                    + (Boolean.TRUE.equals(row[3]) ? VERIFIED_BOOST : 0);
+                builder.add(new Suggestion((String) row[1], Suggestion.Kind.LISTING, weight, "/listings/" + id));
+                if (row[4] != null) {
+                    categoryNames.put((Long) row[4], (String) row[5]);
+                    categoryCounts.merge((Long) row[4], 1, Integer::sum);
+                }
+                String platform = (String) row[6];
+                if (platform != null && !platform.isBlank()) {
+                    String key = SuggestionTrie.normalize(platform);
+                    platformNames.putIfAbsent(key, platform.trim());
+                    platformCounts.merge(key, 1, Integer::sum);
+                }
+            });
+        }
+        // Categories and platforms weigh as much as the listings they lead to
+        categoryCounts.forEach((id, count) -> builder.add(new Suggestion(categoryNames.get(id),
+            Suggestion.Kind.CATEGORY, count, "/listings?category=" + id)));
+        platformCounts.forEach((key, count) -> builder.add(new Suggestion(platformNames.get(key),
+            Suggestion.Kind.PLATFORM, count, "/listings?search=" + URLEncoder.encode(key, StandardCharsets.UTF_8))));
+
+        SuggestionTrie built = builder.build();
+        trie.set(built);
+        logger.info("Suggestion trie built: {} suggestions, {} nodes in {} ms",
+                   built.size(), built.nodeCount(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,231 @@
+package com.flippa.search;
+
+import com.flippa.dto.Suggestion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie laid out in flat arrays. Children of a node are stored contiguously and
+ * sorted by character, so each query character is one binary search, and every node carries its
+ * precomputed best suggestions, so a lookup never walks the subtree below the prefix.
+ * <p>
+ * Each suggestion is reachable from the start of every word in its text ("store" finds
+ * "Shopify Store"); keys are cut at {@link #MAX_KEY_LENGTH} characters to bound the node count.
+ */
+final class SuggestionTrie {
+
+    static final int MAX_KEY_LENGTH = 24;
+    static final int TOP_K = 10;
+    private static final int MAX_WORD_STARTS = 6;
+
+    static final SuggestionTrie EMPTY = new Builder().build();
+
+    private final char[] labels;      // character on the edge into each node
+    private final int[] childStart;   // index of each node's first child
+    private final int[] childCount;
+    private final int[] topStart;     // each node's best suggestions, as a slice of top
+    private final byte[] topCount;
+    private final int[] top;
+    private final Suggestion[] suggestions;
+    private final String[] keys;      // normalized text per suggestion, for prefixes beyond MAX_KEY_LENGTH
+
+    private SuggestionTrie(char[] labels, int[] childStart, int[] childCount, int[] topStart, byte[] topCount,
+                           int[] top, Suggestion[] suggestions, String[] keys) {
+        this.labels = labels;
+        this.childStart = childStart;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.top = top;
+        this.suggestions = suggestions;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions whose text has a word starting with the prefix,
+     * most popular first.
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int node = 0;
+        int depth = Math.min(key.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth; i++) {
+            node = child(node, key.charAt(i));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, topCount[node]));
+        for (int i = 0; i < topCount[node] && result.size() < limit; i++) {
+            int suggestion = top[topStart[node] + i];
+            if (key.length() <= MAX_KEY_LENGTH || containsWordStart(keys[suggestion], key)) {
+                result.add(suggestions[suggestion]);
+            }
+        }
+        return result;
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    int size() {
+        return suggestions.length;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < c) {
+                low = mid + 1;
+            } else if (labels[mid] > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsWordStart(String text, String prefix) {
+        return text.startsWith(prefix) || text.contains(" " + prefix);
+    }
+
+    /**
+     * Lower-cases and reduces anything that is not a letter or digit to single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Collects suggestions into a pointer-based trie, then flattens it breadth-first.
+     */
+    static final class Builder {
+
+        private static final class Node {
+            final TreeMap<Character, Node> children = new TreeMap<>();
+            // The TOP_K best suggestions whose key ends here, in rank order
+            final List<Integer> best = new ArrayList<>(TOP_K + 1);
+        }
+
+        private final List<Suggestion> suggestions = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final Node root = new Node();
+        private final Comparator<Integer> byRank = Comparator
+            .comparingInt((Integer id) -> -suggestions.get(id).getWeight())
+            .thenComparing(id -> suggestions.get(id).getText());
+
+        Builder add(Suggestion suggestion) {
+            String key = normalize(suggestion.getText());
+            if (key.isEmpty()) {
+                return this;
+            }
+            int id = suggestions.size();
+            suggestions.add(suggestion);
+            keys.add(key);
+            int wordStarts = 0;
+            for (int i = 0; i < key.length() && wordStarts < MAX_WORD_STARTS; i++) {
+                if (i == 0 || key.charAt(i - 1) == ' ') {
+                    insert(key.substring(i, Math.min(key.length(), i + MAX_KEY_LENGTH)), id);
+                    wordStarts++;
+                }
+            }
+            return this;
+        }
+
+        SuggestionTrie build() {
+            // Breadth-first order keeps each node's children contiguous
+            List<Node> order = new ArrayList<>();
+            List<Character> edge = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            edge.add('\0');
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    queue.add(child.getValue());
+                    edge.add(child.getKey());
+                }
+            }
+
+            int nodes = order.size();
+            char[] labels = new char[nodes];
+            int[] childStart = new int[nodes];
+            int[] childCount = new int[nodes];
+            int[] topStart = new int[nodes];
+            byte[] topCount = new byte[nodes];
+            List<Integer> top = new ArrayList<>();
+            int nextChild = 1;
+            for (int i = 0; i < nodes; i++) {
+                Node node = order.get(i);
+                labels[i] = edge.get(i);
+                childStart[i] = nextChild;
+                childCount[i] = node.children.size();
+                nextChild += node.children.size();
+            }
+            // Children come after their parent, so a reverse pass sees every child's best list first
+            List<int[]> best = new ArrayList<>(Collections.nCopies(nodes, null));
+            for (int i = nodes - 1; i >= 0; i--) {
+                Set<Integer> merged = new LinkedHashSet<>(order.get(i).best);
+                for (int c = childStart[i]; c < childStart[i] + childCount[i]; c++) {
+                    for (int id : best.get(c)) {
+                        merged.add(id);
+                    }
+                }
+                List<Integer> candidates = new ArrayList<>(merged);
+                candidates.sort(byRank);
+                best.set(i, candidates.subList(0, Math.min(TOP_K, candidates.size()))
+                    .stream().mapToInt(Integer::intValue).toArray());
+            }
+            for (int i = 0; i < nodes; i++) {
+                topStart[i] = top.size();
+                topCount[i] = (byte) best.get(i).length;
+                for (int id : best.get(i)) {
+                    top.add(id);
+                }
+            }
+            return new SuggestionTrie(labels, childStart, childCount, topStart, topCount,
+                top.stream().mapToInt(Integer::intValue).toArray(),
+                suggestions.toArray(new Suggestion[0]), keys.toArray(new String[0]));
+        }
+
+        private void insert(String key, int id) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            // Keep only the TOP_K best per node, so inserting n suggestions under one key stays O(n * TOP_K)
+            List<Integer> best = node.best;
+            if (best.contains(id)) {
+                return;
+            }
+            int slot = Collections.binarySearch(best, id, byRank);
+            slot = slot < 0 ? -slot - 1 : slot;
+            if (slot < TOP_K) {
+                best.add(slot, id);
+                if (best.size() > TOP_K) {
+                    best.remove(TOP_K);
+                }
+            }
+        }
+    }
+}
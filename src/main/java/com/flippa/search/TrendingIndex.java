@@ -0,0 +1,362 @@
+package com.flippa.search;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Trending listings over the last hour, day and week, scored by page views and escrow starts.
+ * Each listing keeps one ring buffer of time buckets per window; each window keeps a bounded
+ * top-K list that events update in place, so reading the trending list is a copy of K ids.
+ * <p>
+ * Scores only decay when buckets expire, which the scheduled {@link #refresh()} applies: it
+ * re-ranks every window, evicts listings with no activity in the last week or no longer ACTIVE,
+ * and reloads the cards shown for the leaders. State is in memory only and starts empty after a restart.
+ */
+@Component
+public class TrendingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingIndex.class);
+
+    public static final int TOP_K = 8;
+    static final int VIEW_WEIGHT = 1;
+    // Starting an escrow is a much stronger signal than a page view
+    static final int ESCROW_WEIGHT = 10;
+    static final int MAX_TRACKED_LISTINGS = 20000;
+
+    // (listing id, score) pairs ascending by score, ties broken towards the newer (higher) id
+    private static final Comparator<long[]> BY_SCORE =
+        Comparator.<long[]>comparingLong(entry -> entry[1]).thenComparingLong(entry -> entry[0]);
+
+    public enum Window {
+        HOUR("1h", 5 * 60_000L, 12),
+        DAY("24h", 60 * 60_000L, 24),
+        WEEK("7d", 6 * 60 * 60_000L, 28);
+
+        private final String param;
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(String param, long bucketMillis, int buckets) {
+            this.param = param;
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+        }
+
+        public String toParam() {
+            return param;
+        }
+
+        /**
+         * Parses a request parameter such as "24h". Unknown values fall back to DAY.
+         */
+        public static Window fromParam(String value) {
+            for (Window window : values()) {
+                if (window.param.equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            return DAY;
+        }
+    }
+
+    private final ListingRepository listingRepository;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final TopK[] leaders = new TopK[Window.values().length];
+    // Cards for the current leaders, reloaded by refresh() so reads never query the database
+    private volatile Map<Long, ListingCard> cards = Map.of();
+
+    public TrendingIndex(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+        for (int w = 0; w < leaders.length; w++) {
+            leaders[w] = new TopK();
+        }
+    }
+
+    public void recordView(Long listingId) {
+        record(listingId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordEscrowStart(Long listingId) {
+        record(listingId, ESCROW_WEIGHT, System.currentTimeMillis());
+    }
+
+    /**
+     * Trending ACTIVE listings for the window, highest score first. Listings that started
+     * trending since the last refresh appear once their card has been loaded.
+     */
+    public List<ListingCard> getTrending(Window window) {
+        Map<Long, ListingCard> current = cards;
+        List<ListingCard> result = new ArrayList<>(TOP_K);
+        for (long listingId : leaders[window.ordinal()].ids()) {
+            ListingCard card = current.get(listingId);
+            if (card != null) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:60000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    void record(Long listingId, int weight, long now) {
+        long[] scores = new long[Window.values().length];
+        // Updated inside the map's bin lock so a concurrent eviction cannot drop the event
+        counters.compute(listingId, (id, counter) -> {
+            Counter target = counter != null ? counter : new Counter();
+            target.add(weight, now, scores);
+            return target;
+        });
+        for (Window window : Window.values()) {
+            leaders[window.ordinal()].offer(listingId, scores[window.ordinal()]);
+        }
+    }
+
+    List<Long> leaderIds(Window window) {
+        List<Long> ids = new ArrayList<>();
+        for (long id : leaders[window.ordinal()].ids()) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    int trackedCount() {
+        return counters.size();
+    }
+
+    void refresh(long now) {
+        long start = System.currentTimeMillis();
+        Map<Long, long[]> scored = new HashMap<>();
+        int evicted = 0;
+        for (Long listingId : counters.keySet()) {
+            long[] scores = new long[Window.values().length];
+            Counter remaining = counters.computeIfPresent(listingId, (id, counter) -> {
+                counter.scores(now, scores);
+                return scores[Window.WEEK.ordinal()] > 0 ? counter : null;
+            });
+            if (remaining == null) {
+                evicted++;
+                continue;
+            }
+            scored.put(listingId, scores);
+        }
+        evicted += evictColdest(scored);
+
+        // A leader without an ACTIVE card was sold or withdrawn since its last event: stop
+        // tracking it and rank again, so every window still fills up to K listings
+        Map<Long, ListingCard> loaded = new HashMap<>();
+        long[][][] ranked = rank(scored);
+        Set<Long> unloaded = unloadedLeaders(ranked, loaded);
+        while (!unloaded.isEmpty()) {
+            for (ListingCard card : listingRepository.findCardsByIdIn(unloaded, Listing.ListingStatus.ACTIVE)) {
+                loaded.put(card.getId(), card);
+            }
+            for (Long listingId : unloaded) {
+                if (!loaded.containsKey(listingId)) {
+                    scored.remove(listingId);
+                    counters.remove(listingId);
+                    evicted++;
+                }
+            }
+            ranked = rank(scored);
+            unloaded = unloadedLeaders(ranked, loaded);
+        }
+        for (int w = 0; w < ranked.length; w++) {
+            leaders[w].reset(ranked[w]);
+        }
+        cards = Map.copyOf(loaded);
+        logger.debug("Trending refreshed: {} listings tracked, {} evicted in {} ms",
+                     counters.size(), evicted, System.currentTimeMillis() - start);
+    }
+
+    // The top-K (listing id, score) entries of each window, highest score first
+    private static long[][][] rank(Map<Long, long[]> scored) {
+        int windows = Window.values().length;
+        List<PriorityQueue<long[]>> best = new ArrayList<>(windows);
+        for (int w = 0; w < windows; w++) {
+            best.add(new PriorityQueue<>(TOP_K + 1, BY_SCORE));
+        }
+        for (Map.Entry<Long, long[]> entry : scored.entrySet()) {
+            long[] scores = entry.getValue();
+            for (int w = 0; w < windows; w++) {
+                if (scores[w] > 0) {
+                    PriorityQueue<long[]> heap = best.get(w);
+                    heap.offer(new long[]{entry.getKey(), scores[w]});
+                    if (heap.size() > TOP_K) {
+                        heap.poll();
+                    }
+                }
+            }
+        }
+        long[][][] ranked = new long[windows][][];
+        for (int w = 0; w < windows; w++) {
+            ranked[w] = best.get(w).toArray(new long[0][]);
+            Arrays.sort(ranked[w], BY_SCORE.reversed());
+        }
+        return ranked;
+    }
+
+    private static Set<Long> unloadedLeaders(long[][][] ranked, Map<Long, ListingCard> loaded) {
+        Set<Long> unloaded = new HashSet<>();
+        for (long[][] entries : ranked) {
+            for (long[] entry : entries) {
+                if (!loaded.containsKey(entry[0])) {
+                    unloaded.add(entry[0]);
+                }
+            }
+        }
+        return unloaded;
+    }
+
+    // Keeps memory bounded when more listings are active in a week than we are willing to track
+    private int evictColdest(Map<Long, long[]> scored) {
+        int excess = scored.size() - MAX_TRACKED_LISTINGS;
+        if (excess <= 0) {
+            return 0;
+        }
+        List<Long> coldest = scored.entrySet().stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue()[Window.WEEK.ordinal()]))
+            .limit(excess)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        for (Long listingId : coldest) {
+            scored.remove(listingId);
+            counters.remove(listingId);
+        }
+        return excess;
+    }
+
+    /**
+     * Per-listing ring buffers, one per window. Guarded by the counters map's bin lock.
+     */
+    private static final class Counter {
+
+        private final int[][] buckets = new int[Window.values().length][];
+        // Absolute index (time / bucket length) of the newest bucket in each ring
+        private final long[] head = new long[Window.values().length];
+        private final long[] totals = new long[Window.values().length];
+
+        Counter() {
+            for (Window window : Window.values()) {
+                buckets[window.ordinal()] = new int[window.buckets];
+            }
+        }
+
+        void add(int weight, long now, long[] scores) {
+            for (Window window : Window.values()) {
+                int w = window.ordinal();
+                advance(window, now);
+                buckets[w][(int) (head[w] % window.buckets)] += weight;
+                totals[w] += weight;
+                scores[w] = totals[w];
+            }
+        }
+
+        void scores(long now, long[] scores) {
+            for (Window window : Window.values()) {
+                advance(window, now);
+                scores[window.ordinal()] = totals[window.ordinal()];
+            }
+        }
+
+        // Moves the ring forward to the bucket for now, dropping the buckets that fell out of the window
+        private void advance(Window window, long now) {
+            int w = window.ordinal();
+            long bucket = now / window.bucketMillis;
+            if (bucket <= head[w]) {
+                return;
+            }
+            long steps = Math.min(bucket - head[w], window.buckets);
+            for (long s = 1; s <= steps; s++) {
+                int slot = (int) ((head[w] + s) % window.buckets);
+                totals[w] -= buckets[w][slot];
+                buckets[w][slot] = 0;
+            }
+            head[w] = bucket;
+        }
+    }
+
+    /**
+     * The K highest scores of one window, kept sorted so an update is one insertion step and a
+     * read is a copy. K is small enough that this beats a heap, which would need sorting on read.
+     */
+    private static final class TopK {
+
+        private final long[] ids = new long[TOP_K];
+        private final long[] scores = new long[TOP_K];
+        private int size;
+
+        synchronized void offer(long id, long score) {
+            int index = indexOf(id);
+            if (index < 0) {
+                if (size < TOP_K) {
+                    index = size++;
+                } else if (score > scores[size - 1]) {
+                    index = size - 1;
+                } else {
+                    return;
+                }
+            }
+            ids[index] = id;
+            scores[index] = score;
+            // An event raises the score, but expired buckets may have lowered it first
+            while (index > 0 && scores[index - 1] < score) {
+                swap(index, index - 1);
+                index--;
+            }
+            while (index < size - 1 && scores[index + 1] > score) {
+                swap(index, index + 1);
+                index++;
+            }
+        }
+
+        synchronized long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        synchronized void reset(long[][] entries) {
+            size = entries.length;
+            for (int i = 0; i < size; i++) {
+                ids[i] = entries[i][0];
+                scores[i] = entries[i][1];
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            long score = scores[i];
+            ids[i] = ids[j];
+            scores[i] = scores[j];
+            ids[j] = id;
+            scores[j] = score;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
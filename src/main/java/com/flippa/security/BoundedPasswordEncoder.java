@@ -0,0 +1,162 @@
+package com.flippa.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing and verification on a small fixed pool sized to the cores, so a login
+ * burst cannot take CPU from page renders. The queue is bounded and callers give up after
+ * max-wait; both surface as an {@link AuthenticationServiceException}, which the login page
+ * shows as "busy" and registration reports as a failure.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    static final String BUSY_MESSAGE = "The server is busy, please try again in a moment";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastLoggedCompleted = new AtomicLong();
+    private final AtomicLong lastLoggedRejected = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMillis) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - queuedAt;
+                started.increment();
+                totalWaitNanos.add(waited);
+                maxWaitNanos.accumulate(waited);
+                return work.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthenticationServiceException(BUSY_MESSAGE);
+        }
+
+        try {
+            T result = future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            completed.increment();
+            return result;
+        } catch (TimeoutException e) {
+            abandon(future);
+            rejected.increment();
+            throw new AuthenticationServiceException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Frees the queue slot if the hash has not started yet; a running hash is left to finish
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        executor.remove((Runnable) future);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getAverageWaitMillis() {
+        long count = started.sum();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / count) : 0;
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * Logs the pool metrics when there was activity since the last run, at warn level if any
+     * request was turned away.
+     */
+    @Scheduled(fixedDelayString = "${app.password-hashing.metrics-interval:60000}")
+    public void logMetrics() {
+        long completedNow = getCompletedCount();
+        long rejectedNow = getRejectedCount();
+        long newCompleted = completedNow - lastLoggedCompleted.getAndSet(completedNow);
+        long newRejected = rejectedNow - lastLoggedRejected.getAndSet(rejectedNow);
+        if (newRejected > 0) {
+            logger.warn("Password hashing saturated: {} rejected, {} completed, queue {}, avg wait {} ms, max wait {} ms",
+                        newRejected, newCompleted, getQueueDepth(), getAverageWaitMillis(), getMaxWaitMillis());
+        } else if (newCompleted > 0) {
+            logger.info("Password hashing: {} completed, queue {}, avg wait {} ms, max wait {} ms",
+                        newCompleted, getQueueDepth(), getAverageWaitMillis(), getMaxWaitMillis());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
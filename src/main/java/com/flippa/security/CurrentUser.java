@@ -0,0 +1,16 @@
+package com.flippa.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds the signed-in user to a controller parameter, resolved by {@link CurrentUserArgumentResolver}.
+ * Declare the parameter as {@link UserPrincipal} for the cached identity, or as
+ * {@link com.flippa.entity.User} for an entity reference to hand to services.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
@@ -0,0 +1,54 @@
+package com.flippa.security;
+
+import com.flippa.entity.User;
+import com.flippa.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the principal stored at login. A {@link User}
+ * parameter gets a lazy reference by id: services can link it to other entities without a
+ * query, and it only loads if one of its other fields is read. Resolves to null when nobody
+ * is signed in.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private final UserRepository userRepository;
+    
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+            && (parameter.getParameterType() == UserPrincipal.class || parameter.getParameterType() == User.class);
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        UserPrincipal principal = currentPrincipal();
+        if (principal == null) {
+            return null;
+        }
+        return parameter.getParameterType() == User.class
+            ? userRepository.getReferenceById(principal.getId())
+            : principal;
+    }
+    
+    public static UserPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+}
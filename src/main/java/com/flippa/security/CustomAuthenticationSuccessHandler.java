@@ -3,6 +3,8 @@ package com.flippa.security;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -15,15 +17,30 @@ import java.util.Collection;
  * Custom authentication success handler that redirects users based on their roles.
  * - Admin/SUPER_ADMIN users → /admin/dashboard
  * - Regular users → /home (or their originally requested page)
+ * In stateless mode it also sets the signed auth token cookie.
  */
 @Component
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
+    private final JwtTokenService jwtTokenService;
+    private final boolean stateless;
+
+    public CustomAuthenticationSuccessHandler(JwtTokenService jwtTokenService,
+                                              @Value("${app.jwt.enabled:false}") boolean stateless) {
+        this.jwtTokenService = jwtTokenService;
+        this.stateless = stateless;
+    }
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, 
                                        HttpServletResponse response,
                                        Authentication authentication) throws IOException, ServletException {
         
+        if (stateless && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            response.addHeader(HttpHeaders.SET_COOKIE,
+                               jwtTokenService.createCookie(principal, request.isSecure()).toString());
+        }
+        
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         
         // Check if user has admin role
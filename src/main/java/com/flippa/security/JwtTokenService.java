@@ -0,0 +1,98 @@
+package com.flippa.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Issues and verifies the signed tokens used in stateless mode. A token carries everything
+ * {@link UserPrincipal} needs (id, email, display name and role mask), so verifying one needs
+ * neither the database nor a session.
+ */
+@Component
+public class JwtTokenService {
+
+    public static final String COOKIE_NAME = "AUTH_TOKEN";
+
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLES = "roles";
+
+    // The value shipped in older configs; anyone can sign tokens with it
+    static final String PLACEHOLDER_SECRET = "your-256-bit-secret-key-change-this-in-production-minimum-32-characters";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKey key;
+    private final long expirationMillis;
+
+    /**
+     * In stateless mode the secret must be set explicitly, or startup fails: a known key would
+     * let anyone sign a token with any role mask. In session mode no token is ever trusted, so a
+     * missing secret is replaced with a random per-process key.
+     */
+    public JwtTokenService(@Value("${app.jwt.secret:}") String secret,
+                           @Value("${app.jwt.expiration:86400000}") long expirationMillis,
+                           @Value("${app.jwt.enabled:false}") boolean stateless) {
+        boolean usable = secret != null && !secret.isBlank() && !PLACEHOLDER_SECRET.equals(secret)
+            && secret.getBytes(StandardCharsets.UTF_8).length >= MIN_SECRET_BYTES;
+        if (!usable && stateless) {
+            throw new IllegalStateException("app.jwt.enabled requires JWT_SECRET to be set to a private value of at least "
+                + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = usable ? Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)) : Jwts.SIG.HS256.key().build();
+        this.expirationMillis = expirationMillis;
+    }
+
+    public String issue(UserPrincipal principal) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+            .subject(principal.getId().toString())
+            .claim(CLAIM_EMAIL, principal.getUsername())
+            .claim(CLAIM_NAME, principal.getDisplayName())
+            .claim(CLAIM_ROLES, principal.getRoleMask())
+            .issuedAt(new Date(now))
+            .expiration(new Date(now + expirationMillis))
+            .signWith(key)
+            .compact();
+    }
+
+    /**
+     * The principal carried by the token, or null if the token is malformed, tampered with or
+     * expired.
+     */
+    public UserPrincipal parse(String token) {
+        try {
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            Integer roleMask = claims.get(CLAIM_ROLES, Integer.class);
+            if (claims.getSubject() == null || roleMask == null) {
+                return null;
+            }
+            return new UserPrincipal(Long.valueOf(claims.getSubject()), claims.get(CLAIM_EMAIL, String.class),
+                                     null, claims.get(CLAIM_NAME, String.class), roleMask);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * HttpOnly cookie holding a fresh token, sent on successful login.
+     */
+    public ResponseCookie createCookie(UserPrincipal principal, boolean secure) {
+        return ResponseCookie.from(COOKIE_NAME, issue(principal))
+            .httpOnly(true)
+            .secure(secure)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(Duration.ofMillis(expirationMillis))
+            .build();
+    }
+}
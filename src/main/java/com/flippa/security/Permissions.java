@@ -0,0 +1,44 @@
+package com.flippa.security;
+
+import com.flippa.entity.Role;
+import com.flippa.entity.User;
+import com.flippa.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Central authorization checks, answered from role bitmasks rather than the user's role set.
+ * Admin rights are re-read from users.role_mask on every check, a primary-key lookup of one
+ * column, because the signed-in principal keeps the mask it had at login: revoking a role with
+ * {@link com.flippa.service.UserService#toggleUserRole} is enforced here on the next request.
+ * Ownership checks need no database access.
+ * <p>
+ * Spring Security's URL rules (such as /admin/**) still use the principal's authorities, so a
+ * demoted admin can reach those pages until their session ends or, in stateless mode, their
+ * token expires (app.jwt.expiration).
+ */
+@Component
+public class Permissions {
+
+    public static final int ADMIN_MASK = Role.RoleType.ROLE_ADMIN.getBit() | Role.RoleType.ROLE_SUPER_ADMIN.getBit();
+
+    private final UserRepository userRepository;
+
+    public Permissions(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public static boolean isAdmin(int roleMask) {
+        return (roleMask & ADMIN_MASK) != 0;
+    }
+
+    public boolean isAdmin(User user) {
+        return isAdmin(userRepository.findRoleMaskById(user.getId()).orElse(0));
+    }
+
+    /**
+     * True when the user owns the resource or is an admin.
+     */
+    public boolean isOwnerOrAdmin(User user, Long ownerId) {
+        return user.getId().equals(ownerId) || isAdmin(user);
+    }
+}
@@ -0,0 +1,113 @@
+package com.flippa.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the route groups in app.rate-limit with a token bucket per client IP and, where the
+ * group names an account parameter, per account. Runs ahead of Spring Security so rejected
+ * logins never reach the password check. Rejections get 429 with Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitProperties properties;
+    private final TokenBucketStore buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = new TokenBucketStore(properties.getMaxBuckets());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Map.Entry<String, RateLimitProperties.Group> match = groupFor(request, path);
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String name = match.getKey();
+        RateLimitProperties.Group group = match.getValue();
+        // Behind a proxy, set server.forward-headers-strategy so this is the real client address
+        String clientIp = request.getRemoteAddr();
+        long wait = buckets.tryConsume(name + "|ip|" + clientIp, group.getCapacity(),
+                                       refillInterval(group.getRefillPerMinute()));
+        if (wait == 0 && group.getAccountParam() != null) {
+            String account = request.getParameter(group.getAccountParam());
+            if (account != null && !account.isBlank()) {
+                wait = buckets.tryConsume(name + "|account|" + account.trim().toLowerCase(Locale.ROOT),
+                                          group.getAccountCapacity(),
+                                          refillInterval(group.getAccountRefillPerMinute()));
+            }
+        }
+
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            logger.debug("Rate limited {} {} from {} (group {}, retry in {}s)",
+                         request.getMethod(), path, clientIp, name, retryAfter);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests. Please try again in " + retryAfter + " seconds.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Returns the first group whose paths, methods and required parameter match the request.
+     */
+    Map.Entry<String, RateLimitProperties.Group> groupFor(HttpServletRequest request, String path) {
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            RateLimitProperties.Group group = entry.getValue();
+            if (matchesPath(group, path)
+                    && (group.getMethods().isEmpty() || group.getMethods().contains(request.getMethod()))
+                    && (group.getRequiredParam() == null || request.getParameter(group.getRequiredParam()) != null)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesPath(RateLimitProperties.Group group, String path) {
+        for (String pattern : group.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long refillInterval(int perMinute) {
+        return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+    }
+}
@@ -0,0 +1,56 @@
+package com.flippa.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request rate limits per route group, bound from app.rate-limit in application.yml.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /** Throttle the configured route groups. */
+    private boolean enabled = true;
+
+    /** Upper bound on tracked buckets across all groups. */
+    private int maxBuckets = 100_000;
+
+    /** Group name to its limits; the first group matching a request applies. */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        /** Ant-style path patterns. */
+        private List<String> paths = new ArrayList<>();
+
+        /** HTTP methods to throttle; empty means all. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Only throttle requests that carry this parameter, e.g. search on /listings. */
+        private String requiredParam;
+
+        /** Burst size per client IP. */
+        private int capacity = 20;
+
+        /** Tokens added per minute per client IP. */
+        private int refillPerMinute = 60;
+
+        /** Request parameter naming the account, e.g. the login username; unset disables per-account limits. */
+        private String accountParam;
+
+        /** Burst size per account. */
+        private int accountCapacity = 5;
+
+        /** Tokens added per minute per account. */
+        private int accountRefillPerMinute = 5;
+    }
+}
@@ -0,0 +1,106 @@
+package com.flippa.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by client or account. Each bucket is a single {@link AtomicLong} holding
+ * the time at which it will be full again (the GCRA form of a token bucket), so taking a token
+ * is one CAS and a bucket that has refilled carries no state. Keys are spread over stripes that
+ * are each capped; a stripe at its cap first drops its refilled buckets, which is
+ * indistinguishable from keeping them.
+ */
+public class TokenBucketStore {
+
+    static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int maxPerStripe;
+    private final LongSupplier clock;
+
+    public TokenBucketStore(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    TokenBucketStore(int maxBuckets, LongSupplier clock) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxPerStripe = Math.max(1, maxBuckets / STRIPES);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 when the request may proceed, otherwise
+     * the nanoseconds until a token will be available.
+     */
+    public long tryConsume(String key, int capacity, long refillIntervalNanos) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= maxPerStripe) {
+                stripe.sweep(now, maxPerStripe);
+            }
+            bucket = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long burst = capacity * refillIntervalNanos;
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + refillIntervalNanos;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        /**
+         * Drops refilled buckets. If the stripe is still at its cap every bucket is in use, so
+         * some are dropped anyway to keep memory bounded; those clients start over with a full
+         * bucket. Only one thread sweeps a stripe at a time and the others carry on.
+         */
+        void sweep(long now, int max) {
+            if (!sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+                int excess = buckets.size() - max * 3 / 4;
+                if (excess > 0) {
+                    Iterator<AtomicLong> it = buckets.values().iterator();
+                    while (excess-- > 0 && it.hasNext()) {
+                        it.next();
+                        it.remove();
+                    }
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.flippa.security;
+
+import com.flippa.entity.Role;
+import com.flippa.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The signed-in user as kept in the security context: id, display name and enabled roles as a
+ * bitmask, captured when the user logs in. Controllers receive it through {@link CurrentUser}
+ * instead of loading the user again on every request.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    
+    private final Long id;
+    private final String email;
+    private String password;
+    private final String displayName;
+    private final int roleMask;
+    private final List<GrantedAuthority> authorities;
+    
+    public UserPrincipal(Long id, String email, String password, String displayName, int roleMask) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.displayName = displayName;
+        this.roleMask = roleMask;
+        List<GrantedAuthority> granted = new ArrayList<>();
+        for (Role.RoleType role : Role.RoleType.values()) {
+            if ((roleMask & role.getBit()) != 0) {
+                granted.add(new SimpleGrantedAuthority(role.name()));
+            }
+        }
+        this.authorities = Collections.unmodifiableList(granted);
+    }
+    
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getFullName(),
+                                 user.getRoleMask());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public int getRoleMask() {
+        return roleMask;
+    }
+    
+    public boolean hasRole(Role.RoleType role) {
+        return (roleMask & role.getBit()) != 0;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    // Drops the hash once authentication succeeds so it is not kept in the session
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -0,0 +1,262 @@
+package com.flippa.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flippa.dto.ExportFormat;
+import com.flippa.entity.Escrow;
+import com.flippa.entity.Listing;
+import com.flippa.entity.Payment;
+import com.flippa.repository.EscrowRepository;
+import com.flippa.repository.ListingRepository;
+import com.flippa.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams listings, escrows and payments to admins as CSV or NDJSON. Rows come from a
+ * forward-only database cursor and each entity is detached once written, so memory use stays
+ * flat however many rows are exported.
+ */
+@Service
+public class AdminExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminExportService.class);
+
+    // Matches the JDBC fetch size; also drops the association proxies the rows left behind
+    private static final int CLEAR_INTERVAL = Integer.parseInt(ListingRepository.EXPORT_FETCH_SIZE);
+
+    static final String[] LISTING_COLUMNS = {
+        "id", "title", "type", "status", "listing_mode", "price", "current_bid", "category",
+        "seller_id", "seller_email", "featured", "verified", "website_url", "created_at", "updated_at",
+        "auction_end_date"
+    };
+    static final String[] ESCROW_COLUMNS = {
+        "id", "listing_id", "listing_title", "buyer_id", "buyer_email", "seller_id", "seller_email",
+        "amount", "status", "payment_gateway", "payment_transaction_id", "dispute_raised", "created_at",
+        "payment_received_at", "transfer_completed_at"
+    };
+    static final String[] PAYMENT_COLUMNS = {
+        "id", "escrow_id", "user_id", "user_email", "amount", "status", "gateway", "transaction_id",
+        "gateway_transaction_id", "failure_reason", "created_at", "completed_at"
+    };
+
+    private final ListingRepository listingRepository;
+    private final EscrowRepository escrowRepository;
+    private final PaymentRepository paymentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public AdminExportService(ListingRepository listingRepository, EscrowRepository escrowRepository,
+                              PaymentRepository paymentRepository, EntityManager entityManager,
+                              ObjectMapper objectMapper) {
+        this.listingRepository = listingRepository;
+        this.escrowRepository = escrowRepository;
+        this.paymentRepository = paymentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Dataset {
+        LISTINGS,
+        ESCROWS,
+        PAYMENTS;
+
+        /**
+         * Parses a path segment such as "escrows". Returns null for unknown values.
+         */
+        public static Dataset fromParam(String value) {
+            for (Dataset dataset : values()) {
+                if (dataset.name().equalsIgnoreCase(value)) {
+                    return dataset;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes every row of the dataset to the stream and returns the number of rows written.
+     * The stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(Dataset dataset, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows;
+        switch (dataset) {
+            case LISTINGS -> {
+                try (Stream<Object[]> stream = listingRepository.streamForExport()) {
+                    rows = write(stream, LISTING_COLUMNS, this::listingValues, format, out);
+                }
+            }
+            case ESCROWS -> {
+                try (Stream<Object[]> stream = escrowRepository.streamForExport()) {
+                    rows = write(stream, ESCROW_COLUMNS, this::escrowValues, format, out);
+                }
+            }
+            default -> {
+                try (Stream<Object[]> stream = paymentRepository.streamForExport()) {
+                    rows = write(stream, PAYMENT_COLUMNS, this::paymentValues, format, out);
+                }
+            }
+        }
+        logger.info("Exported {} {} rows as {} in {} ms", rows, dataset, format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long write(Stream<Object[]> stream, String[] columns, Function<Object[], Object[]> values,
+                       ExportFormat format, OutputStream out) throws IOException {
+        RowWriter writer = format == ExportFormat.NDJSON
+            ? new NdjsonRowWriter(objectMapper, out, columns)
+            : new CsvRowWriter(out, columns);
+        long count = 0;
+        Iterator<Object[]> rows = stream.iterator();
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            writer.write(values.apply(row));
+            entityManager.detach(row[0]);
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private Object[] listingValues(Object[] row) {
+        Listing l = (Listing) row[0];
+        return new Object[]{
+            l.getId(), l.getTitle(), l.getType(), l.getStatus(), l.getListingMode(), l.getPrice(),
+            l.getCurrentBid(), row[2], l.getSeller().getId(), row[1], l.getFeatured(), l.getVerified(),
+            l.getWebsiteUrl(), l.getCreatedAt(), l.getUpdatedAt(), l.getAuctionEndDate()
+        };
+    }
+
+    private Object[] escrowValues(Object[] row) {
+        Escrow e = (Escrow) row[0];
+        return new Object[]{
+            e.getId(), e.getListing().getId(), row[1], e.getBuyer().getId(), row[2], e.getSeller().getId(),
+            row[3], e.getAmount(), e.getStatus(), e.getPaymentGateway(), e.getPaymentTransactionId(),
+            e.getDisputeRaised(), e.getCreatedAt(), e.getPaymentReceivedAt(), e.getTransferCompletedAt()
+        };
+    }
+
+    private Object[] paymentValues(Object[] row) {
+        Payment p = (Payment) row[0];
+        return new Object[]{
+            p.getId(), p.getEscrow().getId(), p.getUser().getId(), row[1], p.getAmount(), p.getStatus(),
+            p.getGateway(), p.getTransactionId(), p.getGatewayTransactionId(), p.getFailureReason(),
+            p.getCreatedAt(), p.getCompletedAt()
+        };
+    }
+
+    /**
+     * Quotes a CSV field when needed. Text that a spreadsheet would run as a formula is
+     * prefixed with an apostrophe.
+     */
+    static String escape(Object value) {
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            write(columns);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out, String[] columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows end with a newline instead of Jackson's default space between root values
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNullField(columns[i]);
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumberField(columns[i], decimal);
+                } else if (value instanceof Long number) {
+                    generator.writeNumberField(columns[i], number);
+                } else if (value instanceof Boolean flag) {
+                    generator.writeBooleanField(columns[i], flag);
+                } else {
+                    generator.writeStringField(columns[i], value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
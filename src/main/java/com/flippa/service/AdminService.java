@@ -19,11 +19,14 @@ public class AdminService {
     private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
     private final SystemConfigRepository systemConfigRepository;
     private final AuditLogService auditLogService;
+    private final SystemConfigService systemConfigService;
     
     public AdminService(SystemConfigRepository systemConfigRepository, 
-                       AuditLogService auditLogService) {
+                       AuditLogService auditLogService,
+                       SystemConfigService systemConfigService) {
         this.systemConfigRepository = systemConfigRepository;
         this.auditLogService = auditLogService;
+        this.systemConfigService = systemConfigService;
     }
     
     public List<SystemConfig> getAllConfigs() {
@@ -51,6 +54,7 @@ public class AdminService {
         config.setUpdatedBy(adminUser);
         
         SystemConfig savedConfig = systemConfigRepository.save(config);
+        systemConfigService.reloadAfterCommit();
         
         auditLogService.logAction(adminUser, "CONFIG_UPDATED", "SystemConfig", 
                                  key, 
@@ -68,6 +72,7 @@ public class AdminService {
         config.setEnabled(enabled);
         config.setUpdatedBy(adminUser);
         systemConfigRepository.save(config);
+        systemConfigService.reloadAfterCommit();
         
         auditLogService.logAction(adminUser, "CONFIG_TOGGLED", "SystemConfig", 
                                  key, 
@@ -77,23 +82,17 @@ public class AdminService {
     }
     
     public boolean isPaymentGatewayEnabled(String gateway) {
-        Optional<SystemConfig> config = systemConfigRepository.findByConfigKey(
-            "payment.gateway." + gateway.toLowerCase() + ".enabled");
-        return config.map(SystemConfig::getEnabled).orElse(true);
+        return systemConfigService.getSnapshot()
+            .isEnabled("payment.gateway." + gateway.toLowerCase() + ".enabled", true);
     }
     
     public String getPaymentConfigValue(String gateway, String configName) {
-        String key = "payment.gateway." + gateway.toLowerCase() + "." + configName;
-        return systemConfigRepository.findByConfigKey(key)
-            .map(SystemConfig::getConfigValue)
-            .orElse("");
+        return getPaymentConfigValue(gateway, configName, "");
     }
     
     public String getPaymentConfigValue(String gateway, String configName, String defaultValue) {
         String key = "payment.gateway." + gateway.toLowerCase() + "." + configName;
-        return systemConfigRepository.findByConfigKey(key)
-            .map(SystemConfig::getConfigValue)
-            .orElse(defaultValue);
+        return systemConfigService.getSnapshot().getValue(key, defaultValue);
     }
     
     public SystemConfigDTO convertToDTO(SystemConfig config) {
@@ -112,10 +111,8 @@ public class AdminService {
      * Falls back to "Flippa Clone" if not configured.
      */
     public String getSystemName() {
-        return systemConfigRepository.findByConfigKey("system.name")
-            .map(SystemConfig::getConfigValue)
-            .filter(value -> value != null && !value.trim().isEmpty())
-            .orElse("Flippa Clone");
+        String name = systemConfigService.getSnapshot().getValue("system.name", null);
+        return name != null && !name.trim().isEmpty() ? name : "Flippa Clone";
     }
     
     /**
@@ -123,14 +120,9 @@ public class AdminService {
      * Defaults to false if not configured.
      */
     public boolean isAutoApproveEnabled() {
-        return systemConfigRepository.findByConfigKey("listing.auto-approve.enabled")
-            .map(config -> {
-                if (config.getEnabled() && "true".equalsIgnoreCase(config.getConfigValue())) {
-                    return true;
-                }
-                return false;
-            })
-            .orElse(false);
+        SystemConfigService.Snapshot snapshot = systemConfigService.getSnapshot();
+        return snapshot.isEnabled("listing.auto-approve.enabled", false)
+            && "true".equalsIgnoreCase(snapshot.getValue("listing.auto-approve.enabled", null));
     }
 }
 
@@ -2,6 +2,10 @@ package com.flippa.service;
 
 import com.flippa.entity.Category;
 import com.flippa.repository.CategoryRepository;
+import com.flippa.search.ListingTrigramIndex;
+import com.flippa.search.SuggestionIndex;
+import com.flippa.util.TransactionUtil;
+import com.flippa.view.ListingFragmentCache;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,14 +21,43 @@ public class CategoryService {
     private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
     private final CategoryRepository categoryRepository;
     private final AuditLogService auditLogService;
+    private final ListingFragmentCache listingFragmentCache;
+    private final SuggestionIndex suggestionIndex;
+    private final ListingTrigramIndex listingTrigramIndex;
+    // Enabled categories change only through this service; null until first read or after a write
+    private volatile List<Category> enabledCategories;
+    // Bumped on every write so a load that raced with the write is not cached
+    private long categoriesVersion;
     
-    public CategoryService(CategoryRepository categoryRepository, AuditLogService auditLogService) {
+    public CategoryService(CategoryRepository categoryRepository, AuditLogService auditLogService,
+                           ListingFragmentCache listingFragmentCache, SuggestionIndex suggestionIndex,
+                           ListingTrigramIndex listingTrigramIndex) {
         this.categoryRepository = categoryRepository;
         this.auditLogService = auditLogService;
+        this.listingFragmentCache = listingFragmentCache;
+        this.suggestionIndex = suggestionIndex;
+        this.listingTrigramIndex = listingTrigramIndex;
     }
     
+    /**
+     * Returns the enabled categories from memory, loading them once after each category change.
+     */
     public List<Category> getAllEnabledCategories() {
-        return categoryRepository.findByEnabledTrueOrderByDisplayOrderAsc();
+        List<Category> categories = enabledCategories;
+        if (categories != null) {
+            return categories;
+        }
+        long version;
+        synchronized (this) {
+            version = categoriesVersion;
+        }
+        categories = List.copyOf(categoryRepository.findByEnabledTrueOrderByDisplayOrderAsc());
+        synchronized (this) {
+            if (categoriesVersion == version) {
+                enabledCategories = categories;
+            }
+        }
+        return categories;
     }
     
     public List<Category> getAllCategories() {
@@ -53,6 +86,7 @@ public class CategoryService {
         category.setEnabled(true);
         
         Category savedCategory = categoryRepository.save(category);
+        TransactionUtil.afterCommit(this::invalidateEnabledCategories);
         
         auditLogService.logAction(adminUser, "CATEGORY_CREATED", "Category", 
                                  savedCategory.getId().toString(), 
@@ -72,6 +106,7 @@ public class CategoryService {
         if (!category.getName().equals(name) && categoryRepository.findByName(name).isPresent()) {
             throw new RuntimeException("Category with name '" + name + "' already exists");
         }
+        boolean renamed = !category.getName().equals(name);
         
         category.setName(name);
         if (description != null) {
@@ -85,6 +120,12 @@ public class CategoryService {
         }
         
         Category updatedCategory = categoryRepository.save(category);
+        TransactionUtil.afterCommit(this::invalidateEnabledCategories);
+        // Category names are baked into the cached listing detail fragments and the trigram index
+        TransactionUtil.afterCommit(listingFragmentCache::clear);
+        if (renamed) {
+            TransactionUtil.afterCommit(() -> listingTrigramIndex.relabelCategory(id));
+        }
         
         auditLogService.logAction(adminUser, "CATEGORY_UPDATED", "Category", 
                                  id.toString(), 
@@ -105,6 +146,7 @@ public class CategoryService {
         }
         
         categoryRepository.delete(category);
+        TransactionUtil.afterCommit(this::invalidateEnabledCategories);
         
         auditLogService.logAction(adminUser, "CATEGORY_DELETED", "Category", 
                                  id.toString(), 
@@ -112,5 +154,10 @@ public class CategoryService {
         
         logger.info("Category deleted: {} by admin: {}", category.getName(), adminUser.getEmail());
     }
+    
+    private synchronized void invalidateEnabledCategories() {
+        categoriesVersion++;
+        enabledCategories = null;
+        suggestionIndex.markStale();
+    }
 }
-
@@ -7,6 +7,7 @@ import com.flippa.repository.ListingRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,13 +24,16 @@ public class DomainVerificationService {
     private final DomainVerificationRepository domainVerificationRepository;
     private final ListingRepository listingRepository;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public DomainVerificationService(DomainVerificationRepository domainVerificationRepository,
                                     ListingRepository listingRepository,
-                                    AuditLogService auditLogService) {
+                                    AuditLogService auditLogService,
+                                    ApplicationEventPublisher eventPublisher) {
         this.domainVerificationRepository = domainVerificationRepository;
         this.listingRepository = listingRepository;
         this.auditLogService = auditLogService;
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
@@ -113,6 +117,7 @@ public class DomainVerificationService {
             listing.setVerified(true);
             listing.setVerificationNotes("Domain ownership verified");
             listingRepository.save(listing);
+            eventPublisher.publishEvent(new ListingChangedEvent(listing));
             
             domainVerificationRepository.save(verification);
             
@@ -7,9 +7,13 @@ import com.flippa.entity.User;
 import com.flippa.repository.EscrowRepository;
 import com.flippa.repository.ListingRepository;
 import com.flippa.repository.UserRepository;
+import com.flippa.search.TrendingIndex;
+import com.flippa.security.Permissions;
+import com.flippa.util.TransactionUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,15 +30,22 @@ public class EscrowService {
     private final UserRepository userRepository;
     private final PaymentService paymentService;
     private final AuditLogService auditLogService;
+    private final TrendingIndex trendingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Permissions permissions;
     
     public EscrowService(EscrowRepository escrowRepository, ListingRepository listingRepository,
                         UserRepository userRepository, PaymentService paymentService, 
-                        AuditLogService auditLogService) {
+                        AuditLogService auditLogService, TrendingIndex trendingIndex,
+                        ApplicationEventPublisher eventPublisher, Permissions permissions) {
         this.escrowRepository = escrowRepository;
         this.listingRepository = listingRepository;
         this.userRepository = userRepository;
         this.paymentService = paymentService;
         this.auditLogService = auditLogService;
+        this.trendingIndex = trendingIndex;
+        this.eventPublisher = eventPublisher;
+        this.permissions = permissions;
     }
     
     @Transactional
@@ -71,6 +82,8 @@ public class EscrowService {
                                  savedEscrow.getId().toString(), 
                                  "Escrow created for listing: " + listing.getTitle(), request);
         
+        TransactionUtil.afterCommit(() -> trendingIndex.recordEscrowStart(listingId));
+        
         logger.info("Escrow created: {} for listing: {}", savedEscrow.getId(), listingId);
         return savedEscrow;
     }
@@ -157,8 +170,7 @@ public class EscrowService {
         Escrow escrow = escrowRepository.findById(escrowId)
             .orElseThrow(() -> new RuntimeException("Escrow not found"));
         
-        if (!escrow.getSeller().getId().equals(user.getId()) && 
-            !user.getRoles().stream().anyMatch(r -> r.getName().name().contains("ADMIN"))) {
+        if (!permissions.isOwnerOrAdmin(user, escrow.getSeller().getId())) {
             throw new RuntimeException("Unauthorized to complete transfer");
         }
         
@@ -168,6 +180,7 @@ public class EscrowService {
         // Mark listing as sold
         escrow.getListing().setStatus(Listing.ListingStatus.SOLD);
         listingRepository.save(escrow.getListing());
+        eventPublisher.publishEvent(new ListingChangedEvent(escrow.getListing()));
         
         escrowRepository.save(escrow);
         
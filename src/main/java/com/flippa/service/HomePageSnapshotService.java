@@ -0,0 +1,129 @@
+package com.flippa.service;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingFilter;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable snapshot of the featured listings and the newest ACTIVE listings, shared by the
+ * home page and the first page of the default browse order. Readers never query the database
+ * once a snapshot exists: it is rebuilt on a schedule and swapped atomically, and marked stale
+ * as soon as a listing write commits. The next reader rebuilds a stale snapshot while every
+ * concurrent reader keeps getting the previous one, so a write never causes a rebuild stampede.
+ */
+@Service
+public class HomePageSnapshotService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HomePageSnapshotService.class);
+    
+    private final ListingRepository listingRepository;
+    private final AtomicReference<Built> current = new AtomicReference<>();
+    // Bumped on every invalidation; a snapshot built from an older generation is stale
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    public HomePageSnapshotService(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+    
+    /**
+     * Returns the current snapshot. Only the very first read waits for a build; a stale
+     * snapshot is rebuilt by one reader and served as-is to the others meanwhile.
+     */
+    public Snapshot getSnapshot() {
+        Built built = current.get();
+        if (built != null && built.generation == generation.get()) {
+            return built.snapshot;
+        }
+        if (built == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return built.snapshot;
+        }
+        try {
+            Built latest = current.get();
+            if (latest != null && (latest != built || latest.generation == generation.get())) {
+                return latest.snapshot;
+            }
+            return rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Rebuilds the snapshot in the background so steady-state readers never pay for it.
+     */
+    @Scheduled(fixedDelayString = "${app.home-snapshot.refresh-interval:60000}",
+               initialDelayString = "${app.home-snapshot.refresh-interval:60000}")
+    public void refresh() {
+        rebuildLock.lock();
+        try {
+            rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Marks the snapshot stale. Called by {@link ListingChangeListener} once a listing write has
+     * committed, so the rebuild cannot see uncommitted state.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+    
+    // Callers hold rebuildLock
+    private Snapshot rebuild() {
+        long startGeneration = generation.get();
+        long start = System.currentTimeMillis();
+        
+        Listing.ListingStatus status = Listing.ListingStatus.ACTIVE;
+        List<ListingCard> featured = listingRepository.findFeaturedCards(status,
+            PageRequest.of(0, ListingService.HOME_SECTION_LIMIT));
+        List<ListingCard> newest = listingRepository.findPageByNewest(status, new ListingFilter(),
+            ListingService.NEWEST_START, Long.MAX_VALUE, PageRequest.of(0, ListingService.BROWSE_PAGE_SIZE + 1));
+        Snapshot snapshot = new Snapshot(List.copyOf(featured), List.copyOf(newest), LocalDateTime.now());
+        
+        // Tagged with the generation it started from: if a write committed meanwhile it is
+        // still newer than what readers had, and the next reader rebuilds it again
+        current.set(new Built(snapshot, startGeneration));
+        logger.debug("Home page snapshot rebuilt in {} ms: {} featured, {} newest",
+                    System.currentTimeMillis() - start, featured.size(), newest.size());
+        return snapshot;
+    }
+    
+    private static final class Built {
+        final Snapshot snapshot;
+        final long generation;
+        
+        Built(Snapshot snapshot, long generation) {
+            this.snapshot = snapshot;
+            this.generation = generation;
+        }
+    }
+    
+    /**
+     * Featured cards and the newest BROWSE_PAGE_SIZE + 1 ACTIVE cards; the extra row tells the
+     * browse page whether a next page exists.
+     */
+    @Value
+    public static class Snapshot {
+        List<ListingCard> featured;
+        List<ListingCard> newest;
+        LocalDateTime builtAt;
+    }
+}
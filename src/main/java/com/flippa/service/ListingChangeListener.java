@@ -0,0 +1,61 @@
+package com.flippa.service;
+
+import com.flippa.entity.Listing;
+import com.flippa.search.ListingFacetIndex;
+import com.flippa.search.ListingPriceIndex;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.ListingTrigramIndex;
+import com.flippa.search.SuggestionIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies a listing write to every in-memory index and the home page snapshot, only after the
+ * write has committed: a rolled-back transaction leaves the indexes untouched. Writes made
+ * outside a transaction are applied immediately.
+ */
+@Component
+public class ListingChangeListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ListingChangeListener.class);
+    
+    private final ListingSearchIndex listingSearchIndex;
+    private final ListingTrigramIndex listingTrigramIndex;
+    private final ListingFacetIndex listingFacetIndex;
+    private final ListingPriceIndex listingPriceIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final HomePageSnapshotService homePageSnapshotService;
+    
+    public ListingChangeListener(ListingSearchIndex listingSearchIndex,
+                                 ListingTrigramIndex listingTrigramIndex,
+                                 ListingFacetIndex listingFacetIndex,
+                                 ListingPriceIndex listingPriceIndex,
+                                 SuggestionIndex suggestionIndex,
+                                 HomePageSnapshotService homePageSnapshotService) {
+        this.listingSearchIndex = listingSearchIndex;
+        this.listingTrigramIndex = listingTrigramIndex;
+        this.listingFacetIndex = listingFacetIndex;
+        this.listingPriceIndex = listingPriceIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.homePageSnapshotService = homePageSnapshotService;
+    }
+    
+    // The write has already committed, so a failure here must not reach the caller
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        Listing listing = event.getListing();
+        try {
+            listingSearchIndex.update(listing);
+            listingTrigramIndex.update(listing);
+            listingFacetIndex.update(listing);
+            listingPriceIndex.update(listing);
+        } catch (Exception e) {
+            logger.error("Failed to index listing {}: {}", listing.getId(), e.getMessage(), e);
+        }
+        suggestionIndex.markStale();
+        homePageSnapshotService.invalidate();
+    }
+}
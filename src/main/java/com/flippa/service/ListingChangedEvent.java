@@ -0,0 +1,14 @@
+package com.flippa.service;
+
+import com.flippa.entity.Listing;
+import lombok.Value;
+
+/**
+ * Published whenever a listing's status, searchable text, price, category or verification
+ * changes. {@link ListingChangeListener} brings the in-memory indexes up to date once the
+ * publishing transaction commits.
+ */
+@Value
+public class ListingChangedEvent {
+    Listing listing;
+}
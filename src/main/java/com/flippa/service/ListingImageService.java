@@ -4,6 +4,7 @@ import com.flippa.entity.Listing;
 import com.flippa.entity.ListingImage;
 import com.flippa.repository.ListingImageRepository;
 import com.flippa.repository.ListingRepository;
+import com.flippa.security.Permissions;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,15 +24,18 @@ public class ListingImageService {
     private final ListingRepository listingRepository;
     private final FileStorageService fileStorageService;
     private final AuditLogService auditLogService;
+    private final Permissions permissions;
     
     public ListingImageService(ListingImageRepository listingImageRepository,
                               ListingRepository listingRepository,
                               FileStorageService fileStorageService,
-                              AuditLogService auditLogService) {
+                              AuditLogService auditLogService,
+                              Permissions permissions) {
         this.listingImageRepository = listingImageRepository;
         this.listingRepository = listingRepository;
         this.fileStorageService = fileStorageService;
         this.auditLogService = auditLogService;
+        this.permissions = permissions;
     }
     
     @Transactional
@@ -40,8 +44,7 @@ public class ListingImageService {
         Listing listing = listingRepository.findById(listingId)
             .orElseThrow(() -> new RuntimeException("Listing not found"));
         
-        if (!listing.getSeller().getId().equals(user.getId()) && 
-            !user.getRoles().stream().anyMatch(r -> r.getName().name().contains("ADMIN"))) {
+        if (!permissions.isOwnerOrAdmin(user, listing.getSeller().getId())) {
             throw new RuntimeException("Unauthorized to upload images for this listing");
         }
         
@@ -71,6 +74,8 @@ public class ListingImageService {
         }
         
         ListingImage savedImage = listingImageRepository.save(image);
+        // Also bumps Listing.updatedAt, which re-versions the detail page and its cached fragments
+        listing.setImagesVersion(listing.getImagesVersion() + 1);
         
         auditLogService.logAction(user, "LISTING_IMAGE_UPLOADED", "ListingImage", 
                                  savedImage.getId().toString(), 
@@ -86,8 +91,7 @@ public class ListingImageService {
             .orElseThrow(() -> new RuntimeException("Image not found"));
         
         Listing listing = image.getListing();
-        if (!listing.getSeller().getId().equals(user.getId()) && 
-            !user.getRoles().stream().anyMatch(r -> r.getName().name().contains("ADMIN"))) {
+        if (!permissions.isOwnerOrAdmin(user, listing.getSeller().getId())) {
             throw new RuntimeException("Unauthorized to delete this image");
         }
         
@@ -96,6 +100,7 @@ public class ListingImageService {
         
         // Delete from database
         listingImageRepository.delete(image);
+        listing.setImagesVersion(listing.getImagesVersion() + 1);
         
         auditLogService.logAction(user, "LISTING_IMAGE_DELETED", "ListingImage", 
                                  imageId.toString(), 
@@ -110,8 +115,7 @@ public class ListingImageService {
             .orElseThrow(() -> new RuntimeException("Image not found"));
         
         Listing listing = image.getListing();
-        if (!listing.getSeller().getId().equals(user.getId()) && 
-            !user.getRoles().stream().anyMatch(r -> r.getName().name().contains("ADMIN"))) {
+        if (!permissions.isOwnerOrAdmin(user, listing.getSeller().getId())) {
             throw new RuntimeException("Unauthorized to modify this image");
         }
         
@@ -125,6 +129,7 @@ public class ListingImageService {
         // Set this as primary
         image.setIsPrimary(true);
         listingImageRepository.save(image);
+        listing.setImagesVersion(listing.getImagesVersion() + 1);
         
         auditLogService.logAction(user, "LISTING_IMAGE_SET_PRIMARY", "ListingImage", 
                                  imageId.toString(), 
@@ -1,6 +1,14 @@
 package com.flippa.service;
 
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.FacetCounts;
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingCursor;
 import com.flippa.dto.ListingDTO;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.ListingSort;
+import com.flippa.dto.ListingVersion;
+import com.flippa.dto.PriceBucket;
 import com.flippa.dto.WebsiteInfoDTO;
 import com.flippa.entity.Category;
 import com.flippa.entity.Listing;
@@ -10,39 +18,90 @@ import com.flippa.entity.WebsiteInfo;
 import com.flippa.repository.CategoryRepository;
 import com.flippa.repository.ListingRepository;
 import com.flippa.repository.WebsiteInfoRepository;
+import com.flippa.search.ListingFacetIndex;
+import com.flippa.search.ListingPriceIndex;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.ListingTrigramIndex;
+import com.flippa.security.Permissions;
+import com.flippa.util.TransactionUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ListingService {
     
     private static final Logger logger = LoggerFactory.getLogger(ListingService.class);
+    private static final int MAX_SEARCH_RESULTS = 200;
+    // Fewer exact hits than this and the search falls back to trigram matching
+    private static final int FUZZY_FALLBACK_MIN_HITS = 3;
+    public static final int BROWSE_PAGE_SIZE = 24;
+    public static final int HOME_SECTION_LIMIT = 8;
+    
+    // First-page keys: each sorts before every real row in its order (shared with HomePageSnapshotService)
+    static final LocalDateTime NEWEST_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
     private final ListingRepository listingRepository;
     private final WebsiteInfoRepository websiteInfoRepository;
     private final CategoryRepository categoryRepository;
     private final WebsiteInfoFetchService websiteInfoFetchService;
     private final AuditLogService auditLogService;
     private final AdminService adminService;
+    private final ListingSearchIndex listingSearchIndex;
+    private final ListingFacetIndex listingFacetIndex;
+    private final ListingPriceIndex listingPriceIndex;
+    private final ListingTrigramIndex listingTrigramIndex;
+    private final HomePageSnapshotService homePageSnapshotService;
+    private final SavedSearchService savedSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Permissions permissions;
     
     public ListingService(ListingRepository listingRepository, 
                          WebsiteInfoRepository websiteInfoRepository,
                          CategoryRepository categoryRepository,
                          WebsiteInfoFetchService websiteInfoFetchService,
                          AuditLogService auditLogService,
-                         AdminService adminService) {
+                         AdminService adminService,
+                         ListingSearchIndex listingSearchIndex,
+                         ListingFacetIndex listingFacetIndex,
+                         ListingPriceIndex listingPriceIndex,
+                         ListingTrigramIndex listingTrigramIndex,
+                         HomePageSnapshotService homePageSnapshotService,
+                         SavedSearchService savedSearchService,
+                         ApplicationEventPublisher eventPublisher,
+                         Permissions permissions) {
         this.listingRepository = listingRepository;
         this.websiteInfoRepository = websiteInfoRepository;
         this.categoryRepository = categoryRepository;
         this.websiteInfoFetchService = websiteInfoFetchService;
         this.auditLogService = auditLogService;
         this.adminService = adminService;
+        this.listingSearchIndex = listingSearchIndex;
+        this.listingFacetIndex = listingFacetIndex;
+        this.listingPriceIndex = listingPriceIndex;
+        this.listingTrigramIndex = listingTrigramIndex;
+        this.homePageSnapshotService = homePageSnapshotService;
+        this.savedSearchService = savedSearchService;
+        this.eventPublisher = eventPublisher;
+        this.permissions = permissions;
     }
     
     @Transactional
@@ -107,6 +166,10 @@ public class ListingService {
         }
         
         Listing savedListing = listingRepository.save(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(savedListing));
+        if (savedListing.getStatus() == Listing.ListingStatus.ACTIVE) {
+            percolateAfterCommit(savedListing);
+        }
         
         // Auto-fetch website info if URL is provided
         if (listingDTO.getWebsiteUrl() != null && !listingDTO.getWebsiteUrl().isEmpty()) {
@@ -130,6 +193,127 @@ public class ListingService {
         return listingRepository.findByStatus(Listing.ListingStatus.ACTIVE);
     }
     
+    /**
+     * Returns one page of ACTIVE listings matching the filter in the given order, starting after the cursor.
+     * Uses keyset pagination, so every page costs one index seek plus BROWSE_PAGE_SIZE rows.
+     * The unfiltered first page in the default order comes from the home page snapshot, and a
+     * filter that matches nothing in the facet index is answered without a query.
+     */
+    public CursorPage<ListingCard> browseActiveListings(ListingSort sort, String cursor, ListingFilter filter) {
+        if (!filter.isEmpty() && listingFacetIndex.count(filter) == 0) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        ListingCursor position = ListingCursor.decode(cursor, sort);
+        if (sort == ListingSort.NEWEST && position == null && filter.isEmpty()) {
+            return toPage(sort, homePageSnapshotService.getSnapshot().getNewest());
+        }
+        if (sort == ListingSort.PRICE_LOW || sort == ListingSort.PRICE_HIGH) {
+            return browseByPrice(sort, position, filter);
+        }
+        Pageable limit = PageRequest.of(0, BROWSE_PAGE_SIZE + 1);
+        Listing.ListingStatus status = Listing.ListingStatus.ACTIVE;
+        
+        List<ListingCard> rows = sort == ListingSort.NEWEST
+            ? listingRepository.findPageByNewest(status, filter,
+                position != null ? LocalDateTime.parse(position.getKey()) : NEWEST_START,
+                position != null ? position.getId() : Long.MAX_VALUE, limit)
+            : listingRepository.findPageByEndingSoon(status, filter,
+                position != null ? LocalDateTime.parse(position.getKey()) : LocalDateTime.now(),
+                position != null ? position.getId() : 0L, limit);
+        return toPage(sort, rows);
+    }
+    
+    /**
+     * Walks the in-memory price index for one page: the price bucket is a binary-searched
+     * range and the other facets are checked against the facet bitmaps. Listings that left
+     * ACTIVE after they were indexed have no card; the walk reads further entries to fill the
+     * page, and the next cursor is the index entry of the last card shown.
+     */
+    private CursorPage<ListingCard> browseByPrice(ListingSort sort, ListingCursor position, ListingFilter filter) {
+        boolean descending = sort == ListingSort.PRICE_HIGH;
+        long afterCents = position != null ? ListingPriceIndex.toCents(new BigDecimal(position.getKey()))
+            : descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+        long afterId = position != null ? position.getId() : descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+        PriceBucket bucket = filter.getPriceBucket();
+        long minCents = bucket != null && bucket.getMin() != null ? ListingPriceIndex.toCents(bucket.getMin()) : Long.MIN_VALUE;
+        long maxCents = bucket != null && bucket.getMax() != null ? ListingPriceIndex.toCents(bucket.getMax()) : Long.MAX_VALUE;
+        
+        ListingFilter otherFacets = filter.copy();
+        otherFacets.setPriceBucket(null);
+        RoaringBitmap allowed = otherFacets.isEmpty() ? null : listingFacetIndex.match(otherFacets);
+        
+        // One card past the page tells whether a next page exists
+        List<ListingCard> cards = new ArrayList<>();
+        long lastCents = afterCents;
+        while (cards.size() <= BROWSE_PAGE_SIZE) {
+            int wanted = BROWSE_PAGE_SIZE + 1 - cards.size();
+            ListingPriceIndex.Slice slice = listingPriceIndex.slice(descending, afterCents, afterId, minCents, maxCents,
+                                                                    allowed, wanted);
+            Map<Long, ListingCard> foundById = findCardsById(Arrays.stream(slice.getIds()).boxed().collect(Collectors.toList()));
+            for (int i = 0; i < slice.size() && cards.size() <= BROWSE_PAGE_SIZE; i++) {
+                ListingCard card = foundById.get(slice.getIds()[i]);
+                if (card != null) {
+                    if (cards.size() < BROWSE_PAGE_SIZE) {
+                        lastCents = slice.getCents()[i];
+                    }
+                    cards.add(card);
+                }
+            }
+            if (slice.size() < wanted) {
+                break;
+            }
+            afterCents = slice.getCents()[slice.size() - 1];
+            afterId = slice.getIds()[slice.size() - 1];
+        }
+        
+        if (cards.size() <= BROWSE_PAGE_SIZE) {
+            return new CursorPage<>(cards, null);
+        }
+        List<ListingCard> page = cards.subList(0, BROWSE_PAGE_SIZE);
+        ListingCard last = page.get(page.size() - 1);
+        String key = ListingPriceIndex.fromCents(lastCents).toPlainString();
+        return new CursorPage<>(page, new ListingCursor(sort, key, last.getId()).encode());
+    }
+    
+    /**
+     * Reads the listings as cards, in the order of the given IDs; IDs that are no longer ACTIVE are skipped.
+     */
+    private List<ListingCard> findCardsInOrder(List<Long> ids) {
+        Map<Long, ListingCard> cardsById = findCardsById(ids);
+        return ids.stream()
+            .map(cardsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    private Map<Long, ListingCard> findCardsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return listingRepository.findCardsByIdIn(ids, Listing.ListingStatus.ACTIVE).stream()
+            .collect(Collectors.toMap(ListingCard::getId, Function.identity(), (first, second) -> first));
+    }
+    
+    /**
+     * Trims a BROWSE_PAGE_SIZE + 1 row fetch to a page; the extra row means a next page exists.
+     */
+    private CursorPage<ListingCard> toPage(ListingSort sort, List<ListingCard> rows) {
+        if (rows.size() <= BROWSE_PAGE_SIZE) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ListingCard> page = rows.subList(0, BROWSE_PAGE_SIZE);
+        ListingCard last = page.get(page.size() - 1);
+        return new CursorPage<>(page, new ListingCursor(sort, sortKey(sort, last), last.getId()).encode());
+    }
+    
+    private String sortKey(ListingSort sort, ListingCard card) {
+        return switch (sort) {
+            case NEWEST -> card.getCreatedAt().toString();
+            case PRICE_LOW, PRICE_HIGH -> card.getPrice().toPlainString();
+            case ENDING_SOON -> card.getAuctionEndDate().toString();
+        };
+    }
+    
     public List<Listing> getPendingReviewListings() {
         return listingRepository.findByStatus(Listing.ListingStatus.PENDING_REVIEW);
     }
@@ -138,14 +322,95 @@ public class ListingService {
         return listingRepository.findByFeaturedTrueAndStatus(Listing.ListingStatus.ACTIVE);
     }
     
-    public List<Listing> searchListings(String query) {
-        return listingRepository.searchListings(query, Listing.ListingStatus.ACTIVE);
+    public Optional<ListingCard> findActiveListingCard(Long id) {
+        return findCardsInOrder(List.of(id)).stream().findFirst();
+    }
+    
+    public List<ListingCard> getFeaturedListingCards() {
+        return homePageSnapshotService.getSnapshot().getFeatured();
+    }
+    
+    public List<ListingCard> getNewestListingCards() {
+        List<ListingCard> newest = homePageSnapshotService.getSnapshot().getNewest();
+        return newest.subList(0, Math.min(HOME_SECTION_LIMIT, newest.size()));
+    }
+    
+    /**
+     * Searches ACTIVE listings through the in-memory search index.
+     * Results are ordered by relevance; only the matched listings are read, as cards.
+     */
+    public List<ListingCard> searchListings(String query) {
+        return searchListings(query, new ListingFilter());
+    }
+    
+    /**
+     * Searches ACTIVE listings and keeps only those matching the facet filter.
+     * The filter is applied to the ranked IDs in memory, before any listing is read.
+     */
+    public List<ListingCard> searchListings(String query, ListingFilter filter) {
+        return searchListings(rankedSearchIds(query), filter);
+    }
+    
+    /**
+     * Keeps the ranked search hits matching the facet filter and reads them as cards, for callers
+     * that also count facets over the same hits.
+     */
+    public List<ListingCard> searchListings(List<Long> rankedIds, ListingFilter filter) {
+        if (!rankedIds.isEmpty() && !filter.isEmpty()) {
+            RoaringBitmap matching = listingFacetIndex.match(filter);
+            rankedIds = rankedIds.stream()
+                .filter(id -> matching.contains(Math.toIntExact(id)))
+                .collect(Collectors.toList());
+        }
+        return findCardsInOrder(rankedIds);
+    }
+    
+    /**
+     * Counts ACTIVE listings per facet value for the browse page filters, from memory.
+     * With ranked search hits (from {@link #rankedSearchIds}) the counts cover those hits only.
+     */
+    public FacetCounts getFacetCounts(ListingFilter filter, List<Long> rankedIds) {
+        if (rankedIds == null) {
+            return listingFacetIndex.counts(filter);
+        }
+        RoaringBitmap hits = new RoaringBitmap();
+        rankedIds.forEach(id -> hits.add(Math.toIntExact(id)));
+        return listingFacetIndex.counts(filter, hits);
+    }
+    
+    /**
+     * Exact term matches first; when there are too few (typically a misspelled query),
+     * typo-tolerant trigram matches are appended after them.
+     */
+    public List<Long> rankedSearchIds(String query) {
+        List<Long> exact = listingSearchIndex.search(query, MAX_SEARCH_RESULTS);
+        if (exact.size() >= FUZZY_FALLBACK_MIN_HITS) {
+            return exact;
+        }
+        LinkedHashSet<Long> ranked = new LinkedHashSet<>(exact);
+        ranked.addAll(listingTrigramIndex.search(query, MAX_SEARCH_RESULTS - exact.size()));
+        return new ArrayList<>(ranked);
     }
     
     public Optional<Listing> findById(Long id) {
         return listingRepository.findById(id);
     }
     
+    /**
+     * Loads a listing with every association the detail, edit and verify pages render,
+     * in a single query.
+     */
+    public Optional<Listing> findWithDetails(Long id) {
+        return listingRepository.findFullById(id);
+    }
+    
+    /**
+     * Reads the version of a listing's detail page without loading the listing.
+     */
+    public Optional<ListingVersion> findVersion(Long id) {
+        return listingRepository.findVersionById(id);
+    }
+    
     public List<Listing> findBySellerId(Long sellerId) {
         return listingRepository.findBySellerId(sellerId);
     }
@@ -155,8 +420,7 @@ public class ListingService {
         Listing listing = listingRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Listing not found"));
         
-        if (!listing.getSeller().getId().equals(user.getId()) && 
-            !user.getRoles().stream().anyMatch(r -> r.getName().name().contains("ADMIN"))) {
+        if (!permissions.isOwnerOrAdmin(user, listing.getSeller().getId())) {
             throw new RuntimeException("Unauthorized to update this listing");
         }
         
@@ -189,6 +453,7 @@ public class ListingService {
         }
         
         Listing updatedListing = listingRepository.save(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(updatedListing));
         
         auditLogService.logAction(user, "LISTING_UPDATED", "Listing", 
                                  id.toString(), 
@@ -204,12 +469,25 @@ public class ListingService {
         
         listing.setStatus(Listing.ListingStatus.ACTIVE);
         listingRepository.save(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(listing));
+        percolateAfterCommit(listing);
         
         auditLogService.logAction(adminUser, "LISTING_ACTIVATED", "Listing", 
                                  id.toString(), 
                                  "Listing activated", request);
     }
     
+    // Saved search alerts must not fail or roll back the listing write that triggered them
+    private void percolateAfterCommit(Listing listing) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                savedSearchService.percolate(listing);
+            } catch (Exception e) {
+                logger.warn("Failed to match listing {} against saved searches: {}", listing.getId(), e.getMessage());
+            }
+        });
+    }
+    
     public ListingDTO convertToDTO(Listing listing) {
         ListingDTO dto = new ListingDTO();
         dto.setId(listing.getId());
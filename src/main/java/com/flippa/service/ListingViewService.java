@@ -0,0 +1,156 @@
+package com.flippa.service;
+
+import com.flippa.entity.Listing;
+import com.flippa.search.TrendingIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listing page view counts. A view only bumps an in-memory {@link LongAdder}, so concurrent
+ * viewers of a popular listing never contend on a row lock; the deltas are written to
+ * listing_stats in one JDBC batch on a schedule and once more on shutdown. Views also feed the
+ * trending windows.
+ */
+@Service
+public class ListingViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingViewService.class);
+
+    static final String UPDATE_SQL =
+        "UPDATE listing_stats SET view_count = view_count + ?, updated_at = ? WHERE listing_id = ?";
+    // Inserts nothing when the listing has been deleted since it was viewed
+    static final String INSERT_SQL =
+        "INSERT INTO listing_stats (listing_id, view_count, updated_at) " +
+        "SELECT id, CAST(? AS BIGINT), CAST(? AS TIMESTAMP) FROM listings WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrendingIndex trendingIndex;
+    // listing id -> total views, seeded from listing_stats and never reset
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+    // listing id -> total already written to listing_stats; only touched by flush() and load()
+    private final Map<Long, Long> flushed = new HashMap<>();
+    private volatile boolean loaded;
+
+    public ListingViewService(JdbcTemplate jdbcTemplate, TrendingIndex trendingIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trendingIndex = trendingIndex;
+    }
+
+    /**
+     * Counts the view; only views of ACTIVE listings feed the trending list.
+     */
+    public void recordView(Long listingId, Listing.ListingStatus status) {
+        counters.computeIfAbsent(listingId, id -> new LongAdder()).increment();
+        if (status == Listing.ListingStatus.ACTIVE) {
+            trendingIndex.recordView(listingId);
+        }
+    }
+
+    public long getViewCount(Long listingId) {
+        LongAdder counter = counters.get(listingId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public Map<Long, Long> getViewCounts(Collection<Long> listingIds) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Long listingId : listingIds) {
+            result.put(listingId, getViewCount(listingId));
+        }
+        return result;
+    }
+
+    /**
+     * Seeds the counters with the stored totals. Views recorded before this ran are kept and
+     * written by the next flush.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT listing_id, view_count FROM listing_stats", rs -> {
+            long listingId = rs.getLong(1);
+            long views = rs.getLong(2);
+            counters.computeIfAbsent(listingId, id -> new LongAdder()).add(views);
+            flushed.put(listingId, views);
+        });
+        loaded = true;
+        logger.info("Listing view counters loaded: {} listings in {} ms", flushed.size(),
+                    System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Writes the views recorded since the last flush. A failed batch is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.view-counter.flush-interval:5000}")
+    public synchronized void flush() {
+        if (!loaded) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+            long total = entry.getValue().sum();
+            long delta = total - flushed.getOrDefault(entry.getKey(), 0L);
+            if (delta > 0) {
+                ids.add(entry.getKey());
+                totals.add(total);
+                updates.add(new Object[]{delta, now, entry.getKey()});
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Each batch runs in its own auto-commit, so a row is marked flushed as soon as its batch succeeds
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            List<Object[]> inserts = new ArrayList<>();
+            List<Integer> pending = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    inserts.add(updates.get(i));
+                    pending.add(i);
+                } else {
+                    flushed.put(ids.get(i), totals.get(i));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                for (int i = 0; i < inserted.length; i++) {
+                    Long listingId = ids.get(pending.get(i));
+                    if (inserted[i] == 0) {
+                        // The listing is gone; stop counting it
+                        counters.remove(listingId);
+                        flushed.remove(listingId);
+                    } else {
+                        flushed.put(listingId, totals.get(pending.get(i)));
+                    }
+                }
+            }
+            logger.debug("Flushed views for {} listings", updates.size());
+        } catch (Exception e) {
+            logger.warn("Failed to flush listing view counts, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -19,20 +19,21 @@ import java.util.Map;
 public class PayNowZimService {
     
     private static final Logger logger = LoggerFactory.getLogger(PayNowZimService.class);
-    private final AdminService adminService;
+    private final PaymentGatewayRegistry.Gateway<Paynow> gateway;
     
-    public PayNowZimService(AdminService adminService) {
-        this.adminService = adminService;
+    public PayNowZimService(PaymentGatewayRegistry paymentGatewayRegistry) {
+        this.gateway = paymentGatewayRegistry.register(PaymentGatewayRegistry.PAYNOW_ZIM, PayNowZimService::createPaynow);
     }
     
     /**
-     * Get PayNow instance configured with credentials from database
+     * Build a PayNow instance from the gateway's config settings.
+     * The registry keeps it until those settings change.
      */
-    private Paynow getPaynowInstance() {
-        String integrationId = adminService.getPaymentConfigValue("paynow-zim", "integration-id", "");
-        String integrationKey = adminService.getPaymentConfigValue("paynow-zim", "integration-key", "");
-        String returnUrl = adminService.getPaymentConfigValue("paynow-zim", "return-url", "http://localhost/payment/callback");
-        String resultUrl = adminService.getPaymentConfigValue("paynow-zim", "result-url", "http://localhost/payment/callback");
+    static Paynow createPaynow(Map<String, String> settings) {
+        String integrationId = settings.getOrDefault("integration-id", "");
+        String integrationKey = settings.getOrDefault("integration-key", "");
+        String returnUrl = settings.getOrDefault("return-url", "http://localhost/payment/callback");
+        String resultUrl = settings.getOrDefault("result-url", "http://localhost/payment/callback");
         
         if (integrationId.isEmpty() || integrationKey.isEmpty()) {
             throw new RuntimeException("PayNow integration credentials not configured. Please configure in admin settings.");
@@ -57,10 +58,8 @@ public class PayNowZimService {
         logger.info("Initiating PayNow Zim web payment: {} - {} - {}", amount, reference, email);
         
         try {
-            Paynow paynow = getPaynowInstance();
-            
             // Create payment with reference and email
-            Payment payment = paynow.createPayment(reference, email);
+            Payment payment = gateway.client().createPayment(reference, email);
             
             // Add the payment item
             payment.add(description != null ? description : "Payment for listing", amount.doubleValue());
@@ -71,7 +70,7 @@ public class PayNowZimService {
             }
             
             // Send payment and get response
-            WebInitResponse response = paynow.send(payment);
+            WebInitResponse response = gateway.execute(paynow -> paynow.send(payment));
             
             if (response.isRequestSuccess()) {
                 String redirectUrl = response.redirectURL();
@@ -101,8 +100,7 @@ public class PayNowZimService {
         logger.info("Checking PayNow payment status with poll URL: {}", pollUrl);
         
         try {
-            Paynow paynow = getPaynowInstance();
-            StatusResponse status = paynow.pollTransaction(pollUrl);
+            StatusResponse status = gateway.execute(paynow -> paynow.pollTransaction(pollUrl));
             
             if (status.isPaid()) {
                 logger.info("PayNow payment confirmed as paid via poll URL: {}", pollUrl);
@@ -1,31 +1,21 @@
 package com.flippa.service;
 
+import lombok.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Service
 public class PayPalService {
     
     private static final Logger logger = LoggerFactory.getLogger(PayPalService.class);
-    private final AdminService adminService;
+    private final PaymentGatewayRegistry.Gateway<Credentials> gateway;
     
-    public PayPalService(AdminService adminService) {
-        this.adminService = adminService;
-    }
-    
-    private String getClientId() {
-        return adminService.getPaymentConfigValue("paypal", "client-id", "");
-    }
-    
-    private String getClientSecret() {
-        return adminService.getPaymentConfigValue("paypal", "client-secret", "");
-    }
-    
-    private String getMode() {
-        return adminService.getPaymentConfigValue("paypal", "mode", "sandbox");
+    public PayPalService(PaymentGatewayRegistry paymentGatewayRegistry) {
+        this.gateway = paymentGatewayRegistry.register(PaymentGatewayRegistry.PAYPAL, Credentials::from);
     }
     
     public String createPayment(BigDecimal amount, String description, String returnUrl) {
@@ -38,7 +28,7 @@ public class PayPalService {
         // PayPal SDK integration would go here
         // Example: Use PayPal REST API SDK
         
-        return "PAYPAL_" + System.currentTimeMillis(); // Mock transaction ID
+        return gateway.execute(credentials -> "PAYPAL_" + System.currentTimeMillis()); // Mock transaction ID
     }
     
     public boolean verifyPayment(String transactionId) {
@@ -46,7 +36,23 @@ public class PayPalService {
         logger.info("Verifying PayPal payment: {}", transactionId);
         
         // Mock implementation - replace with actual PayPal verification
-        return true;
+        return gateway.execute(credentials -> true);
+    }
+    
+    /**
+     * PayPal credentials read once per config version; the PayPal SDK client would be built here.
+     */
+    @Value
+    static class Credentials {
+        String clientId;
+        String clientSecret;
+        String mode;
+        
+        static Credentials from(Map<String, String> settings) {
+            return new Credentials(settings.getOrDefault("client-id", ""),
+                                   settings.getOrDefault("client-secret", ""),
+                                   settings.getOrDefault("mode", "sandbox"));
+        }
     }
 }
 
@@ -0,0 +1,202 @@
+package com.flippa.service;
+
+import com.flippa.monitoring.LatencyHistogram;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One shared client per payment gateway, built from the gateway's payment.gateway.&lt;name&gt;.*
+ * settings. A client is rebuilt only when a new config snapshot changes those settings, so
+ * payments and status polls reuse it instead of re-reading config and constructing SDK
+ * objects per call. Calls made through a gateway are timed into a latency histogram and
+ * counted while in flight.
+ */
+@Service
+public class PaymentGatewayRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayRegistry.class);
+
+    public static final String PAYPAL = "paypal";
+    public static final String PAYNOW_ZIM = "paynow-zim";
+
+    private final SystemConfigService systemConfigService;
+    private final Map<String, Gateway<?>> gateways = new ConcurrentHashMap<>();
+
+    public PaymentGatewayRegistry(SystemConfigService systemConfigService) {
+        this.systemConfigService = systemConfigService;
+        systemConfigService.addListener(snapshot -> gateways.values().forEach(gateway -> gateway.update(snapshot)));
+    }
+
+    /**
+     * Registers a gateway whose client the factory builds from its settings (keys without the
+     * payment.gateway.&lt;name&gt;. prefix). The factory may throw to report missing settings;
+     * the message is rethrown to callers until the settings change.
+     */
+    public <T> Gateway<T> register(String name, Function<Map<String, String>, T> factory) {
+        Gateway<T> gateway = new Gateway<>(name, factory);
+        if (gateways.putIfAbsent(name, gateway) != null) {
+            throw new IllegalStateException("Payment gateway already registered: " + name);
+        }
+        return gateway;
+    }
+
+    public List<GatewayStats> getStats() {
+        List<GatewayStats> stats = new ArrayList<>();
+        for (Gateway<?> gateway : gateways.values()) {
+            stats.add(gateway.getStats());
+        }
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment-gateways.metrics-interval:60000}")
+    public void logStats() {
+        for (Gateway<?> gateway : gateways.values()) {
+            long calls = gateway.latency.getCount();
+            if (calls != gateway.lastLoggedCalls.getAndSet(calls)) {
+                logger.info("Payment gateway {}", gateway.getStats());
+            }
+        }
+    }
+
+    static Map<String, String> settingsFor(String name, SystemConfigService.Snapshot snapshot) {
+        String prefix = "payment.gateway." + name + ".";
+        Map<String, String> settings = new HashMap<>();
+        for (Map.Entry<String, SystemConfigService.Entry> entry : snapshot.getEntries().entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getValue().getValue() != null) {
+                settings.put(entry.getKey().substring(prefix.length()), entry.getValue().getValue());
+            }
+        }
+        return Map.copyOf(settings);
+    }
+
+    public final class Gateway<T> {
+
+        private final String name;
+        private final Function<Map<String, String>, T> factory;
+        private volatile Built<T> built;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong lastLoggedCalls = new AtomicLong();
+
+        private Gateway(String name, Function<Map<String, String>, T> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        /**
+         * The current client, built from the latest config on first use.
+         */
+        public T client() {
+            Built<T> current = built;
+            if (current == null) {
+                current = update(systemConfigService.getSnapshot());
+            }
+            if (current.error != null) {
+                throw new RuntimeException(current.error);
+            }
+            return current.client;
+        }
+
+        /**
+         * Runs the action against the client, recording its latency and whether it failed.
+         */
+        public <R> R execute(Function<T, R> action) {
+            T client = client();
+            inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                return action.apply(client);
+            } catch (RuntimeException e) {
+                errors.increment();
+                throw e;
+            } finally {
+                latency.record((System.nanoTime() - start) / 1_000_000);
+                inFlight.decrementAndGet();
+            }
+        }
+
+        /**
+         * How many times the client has been built; stays put while the settings do.
+         */
+        public long getClientVersion() {
+            Built<T> current = built;
+            return current != null ? current.clientVersion : 0;
+        }
+
+        public GatewayStats getStats() {
+            return new GatewayStats(name, getClientVersion(), inFlight.get(), latency.getCount(), errors.sum(),
+                                    latency.getMeanMillis(), latency.getPercentileMillis(50),
+                                    latency.getPercentileMillis(95), latency.getPercentileMillis(99),
+                                    latency.getMaxMillis());
+        }
+
+        private synchronized Built<T> update(SystemConfigService.Snapshot snapshot) {
+            Built<T> current = built;
+            if (current != null && current.configVersion >= snapshot.getVersion()) {
+                return current;
+            }
+            Map<String, String> settings = settingsFor(name, snapshot);
+            Built<T> next;
+            if (current != null && current.settings.equals(settings)) {
+                next = new Built<>(snapshot.getVersion(), current.clientVersion, settings, current.client, current.error);
+            } else {
+                long clientVersion = current != null ? current.clientVersion + 1 : 1;
+                try {
+                    next = new Built<>(snapshot.getVersion(), clientVersion, settings, factory.apply(settings), null);
+                    logger.info("Payment gateway {} client v{} built from config v{}", name, clientVersion,
+                                snapshot.getVersion());
+                } catch (RuntimeException e) {
+                    next = new Built<>(snapshot.getVersion(), clientVersion, settings, null, e.getMessage());
+                    logger.warn("Payment gateway {} not available: {}", name, e.getMessage());
+                }
+            }
+            built = next;
+            return next;
+        }
+    }
+
+    private static final class Built<T> {
+        final long configVersion;
+        final long clientVersion;
+        final Map<String, String> settings;
+        final T client;
+        final String error;
+
+        Built(long configVersion, long clientVersion, Map<String, String> settings, T client, String error) {
+            this.configVersion = configVersion;
+            this.clientVersion = clientVersion;
+            this.settings = settings;
+            this.client = client;
+            this.error = error;
+        }
+    }
+
+    @Value
+    public static class GatewayStats {
+        String gateway;
+        long clientVersion;
+        int inFlight;
+        long calls;
+        long errors;
+        long meanMillis;
+        long p50Millis;
+        long p95Millis;
+        long p99Millis;
+        long maxMillis;
+    }
+}
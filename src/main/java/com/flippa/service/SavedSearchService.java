@@ -0,0 +1,144 @@
+package com.flippa.service;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.entity.Category;
+import com.flippa.entity.Listing;
+import com.flippa.entity.SavedSearch;
+import com.flippa.entity.SavedSearchMatch;
+import com.flippa.entity.User;
+import com.flippa.repository.CategoryRepository;
+import com.flippa.repository.ListingRepository;
+import com.flippa.repository.SavedSearchMatchRepository;
+import com.flippa.repository.SavedSearchRepository;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.SavedSearchPercolator;
+import com.flippa.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saved searches and the queue of listings that matched them. Matching happens once, when a
+ * listing goes live, against the in-memory {@link SavedSearchPercolator}; the queued matches
+ * are shown to the owner on their saved searches page.
+ */
+@Service
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+    static final int MAX_SAVED_SEARCHES_PER_USER = 20;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final ListingRepository listingRepository;
+    private final SavedSearchPercolator savedSearchPercolator;
+
+    public SavedSearchService(SavedSearchRepository savedSearchRepository,
+                              SavedSearchMatchRepository savedSearchMatchRepository,
+                              CategoryRepository categoryRepository,
+                              ListingRepository listingRepository,
+                              SavedSearchPercolator savedSearchPercolator) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.savedSearchMatchRepository = savedSearchMatchRepository;
+        this.categoryRepository = categoryRepository;
+        this.listingRepository = listingRepository;
+        this.savedSearchPercolator = savedSearchPercolator;
+    }
+
+    @Transactional
+    public SavedSearch saveSearch(User user, String query, ListingFilter filter) {
+        String trimmed = query != null && !query.isBlank() ? query.trim() : null;
+        // A query of stop words alone ("the", "a") has no terms and would match every listing
+        if (trimmed != null && ListingSearchIndex.tokenize(trimmed).isEmpty()) {
+            trimmed = null;
+        }
+        if (trimmed == null && filter.isEmpty()) {
+            throw new RuntimeException("Enter a search term or choose a filter before saving a search");
+        }
+        if (trimmed != null && trimmed.length() > 200) {
+            throw new RuntimeException("Search term is too long");
+        }
+        if (savedSearchRepository.countByUserId(user.getId()) >= MAX_SAVED_SEARCHES_PER_USER) {
+            throw new RuntimeException("You can save up to " + MAX_SAVED_SEARCHES_PER_USER + " searches");
+        }
+
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setUser(user);
+        savedSearch.setQuery(trimmed);
+        savedSearch.setListingType(filter.getType());
+        if (filter.getCategoryId() != null) {
+            Category category = categoryRepository.findById(filter.getCategoryId())
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+            savedSearch.setCategory(category);
+        }
+        savedSearch.setListingMode(filter.getMode());
+        savedSearch.setVerifiedOnly(Boolean.TRUE.equals(filter.getVerified()));
+        savedSearch.setPriceBucket(filter.getPriceBucket());
+
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        TransactionUtil.afterCommit(() -> savedSearchPercolator.put(saved));
+        logger.info("Saved search {} created by user: {}", saved.getId(), user.getEmail());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteSearch(Long id, User user) {
+        SavedSearch savedSearch = savedSearchRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        if (!savedSearch.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("You can only delete your own saved searches");
+        }
+        savedSearchRepository.delete(savedSearch);
+        TransactionUtil.afterCommit(() -> savedSearchPercolator.remove(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearch> getSavedSearches(User user) {
+        return savedSearchRepository.findByUserIdWithCategory(user.getId());
+    }
+
+    /**
+     * Returns the user's queued matches for listings that are still live and marks the whole
+     * queue as seen.
+     */
+    @Transactional
+    public List<SavedSearchMatch> takeNewMatches(User user) {
+        List<SavedSearchMatch> matches = savedSearchMatchRepository.findUnseenByUserId(
+            user.getId(), Listing.ListingStatus.ACTIVE);
+        savedSearchMatchRepository.markSeenByUserId(user.getId(), LocalDateTime.now());
+        return matches;
+    }
+
+    /**
+     * Queues the listing for every saved search it satisfies. Runs in its own transaction so it
+     * can be called once the listing's transaction has committed; a listing that goes live twice
+     * is only queued once per search.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int percolate(Listing listing) {
+        if (listing.getStatus() != Listing.ListingStatus.ACTIVE) {
+            return 0;
+        }
+        List<Long> matched = savedSearchPercolator.match(listing);
+        if (matched.isEmpty()) {
+            return 0;
+        }
+        List<SavedSearchMatch> queued = new ArrayList<>();
+        for (Long savedSearchId : savedSearchRepository.findIdsNotYetMatched(matched, listing.getId())) {
+            SavedSearchMatch match = new SavedSearchMatch();
+            match.setSavedSearch(savedSearchRepository.getReferenceById(savedSearchId));
+            match.setListing(listingRepository.getReferenceById(listing.getId()));
+            queued.add(match);
+        }
+        savedSearchMatchRepository.saveAll(queued);
+        logger.info("Listing {} matched {} saved searches", listing.getId(), queued.size());
+        return queued.size();
+    }
+}
@@ -0,0 +1,112 @@
+package com.flippa.service;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.MinHashLsh;
+import com.flippa.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * "Similar businesses" for the listing detail page. A scheduled job signs every ACTIVE listing's
+ * title, description and platform with MinHash, pairs up near neighbours with LSH and stores the
+ * top matches per listing, so the page only does one indexed lookup.
+ */
+@Service
+public class SimilarListingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarListingService.class);
+
+    static final int TOP_K = 6;
+    // Estimated Jaccard similarity below which a neighbour is not worth showing
+    static final double MIN_SIMILARITY = 0.15;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final ListingRepository listingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // Time of the last committed run; part of the detail page ETag so cached pages pick up new neighbours
+    private volatile long generation;
+
+    public SimilarListingService(ListingRepository listingRepository, JdbcTemplate jdbcTemplate) {
+        this.listingRepository = listingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ListingCard> getSimilarListingCards(Long listingId) {
+        return listingRepository.findSimilarCards(listingId, Listing.ListingStatus.ACTIVE);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Recomputes the neighbours of every ACTIVE listing and replaces the stored table.
+     */
+    @Scheduled(fixedDelayString = "${app.similar.refresh-interval:3600000}",
+               initialDelayString = "${app.similar.initial-delay:60000}")
+    @Transactional
+    public void recompute() {
+        long start = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>();
+        List<Set<String>> documents = new ArrayList<>();
+        try (Stream<Object[]> rows = listingRepository.streamSimilarityDocuments(Listing.ListingStatus.ACTIVE)) {
+            rows.forEach(row -> {
+                ids.add((Long) row[0]);
+                documents.add(features((String) row[1], (String) row[2], (String) row[3]));
+            });
+        }
+
+        List<List<MinHashLsh.Neighbour>> neighbours = MinHashLsh.topNeighbours(documents, TOP_K, MIN_SIMILARITY);
+
+        LocalDateTime computedAt = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(computedAt);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            List<MinHashLsh.Neighbour> best = neighbours.get(i);
+            for (int rank = 0; rank < best.size(); rank++) {
+                MinHashLsh.Neighbour neighbour = best.get(rank);
+                batch.add(new Object[]{ids.get(i), rank, ids.get(neighbour.getIndex()), neighbour.getScore(), timestamp});
+            }
+        }
+        jdbcTemplate.update("DELETE FROM similar_listings");
+        for (int from = 0; from < batch.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO similar_listings " +
+                "(listing_id, neighbour_rank, similar_listing_id, score, computed_at) VALUES (?, ?, ?, ?, ?)",
+                batch.subList(from, Math.min(from + INSERT_BATCH_SIZE, batch.size())));
+        }
+
+        long computedAtMillis = timestamp.getTime();
+        TransactionUtil.afterCommit(() -> generation = computedAtMillis);
+        logger.info("Similar listings computed: {} pairs for {} listings in {} ms",
+                    batch.size(), ids.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Word tokens of the title and description plus the platform, which on its own is a strong
+     * signal ("Shopify" stores resemble each other).
+     */
+    static Set<String> features(String title, String description, String platform) {
+        Set<String> features = new HashSet<>(ListingSearchIndex.tokenize(title));
+        features.addAll(ListingSearchIndex.tokenize(description));
+        if (platform != null && !platform.isBlank()) {
+            features.add("platform:" + platform.trim().toLowerCase(Locale.ROOT));
+        }
+        return features;
+    }
+}
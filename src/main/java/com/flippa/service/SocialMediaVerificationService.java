@@ -7,6 +7,7 @@ import com.flippa.repository.SocialMediaVerificationRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,13 +21,16 @@ public class SocialMediaVerificationService {
     private final SocialMediaVerificationRepository socialMediaVerificationRepository;
     private final ListingRepository listingRepository;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public SocialMediaVerificationService(SocialMediaVerificationRepository socialMediaVerificationRepository,
                                          ListingRepository listingRepository,
-                                         AuditLogService auditLogService) {
+                                         AuditLogService auditLogService,
+                                         ApplicationEventPublisher eventPublisher) {
         this.socialMediaVerificationRepository = socialMediaVerificationRepository;
         this.listingRepository = listingRepository;
         this.auditLogService = auditLogService;
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
@@ -89,6 +93,7 @@ public class SocialMediaVerificationService {
         listing.setVerified(true);
         listing.setVerificationNotes("Social media account ownership verified");
         listingRepository.save(listing);
+        eventPublisher.publishEvent(new ListingChangedEvent(listing));
         
         socialMediaVerificationRepository.save(verification);
         
@@ -0,0 +1,121 @@
+package com.flippa.service;
+
+import com.flippa.entity.SystemConfig;
+import com.flippa.repository.SystemConfigRepository;
+import com.flippa.util.TransactionUtil;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Immutable in-memory copy of the system_configs table. Reads never touch the database: the
+ * snapshot is replaced as a whole after an admin change commits, and re-read on a schedule so
+ * changes made on another node are picked up. Components that derive state from config
+ * register a listener and rebuild when a new version is published.
+ */
+@Service
+public class SystemConfigService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemConfigService.class);
+
+    private final SystemConfigRepository systemConfigRepository;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot current;
+
+    public SystemConfigService(SystemConfigRepository systemConfigRepository) {
+        this.systemConfigRepository = systemConfigRepository;
+    }
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : reload();
+    }
+
+    /**
+     * Calls the listener with every snapshot published from now on.
+     */
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reloads the snapshot once the current transaction commits.
+     * Call after any write to system_configs.
+     */
+    public void reloadAfterCommit() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${app.system-config.refresh-interval:60000}",
+               initialDelayString = "${app.system-config.refresh-interval:60000}")
+    public void refresh() {
+        reload();
+    }
+
+    /**
+     * Reads the table and publishes a new version if anything changed.
+     */
+    public synchronized Snapshot reload() {
+        Map<String, Entry> entries = new HashMap<>();
+        for (SystemConfig config : systemConfigRepository.findAll()) {
+            entries.put(config.getConfigKey(),
+                        new Entry(config.getConfigValue(), !Boolean.FALSE.equals(config.getEnabled())));
+        }
+
+        Snapshot previous = current;
+        if (previous != null && previous.getEntries().equals(entries)) {
+            return previous;
+        }
+        Snapshot snapshot = new Snapshot(previous != null ? previous.getVersion() + 1 : 1, Map.copyOf(entries));
+        current = snapshot;
+        logger.info("System config snapshot v{} loaded: {} keys", snapshot.getVersion(), entries.size());
+
+        for (Consumer<Snapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                logger.error("System config listener failed for v{}: {}", snapshot.getVersion(), e.getMessage(), e);
+            }
+        }
+        return snapshot;
+    }
+
+    @Value
+    public static class Snapshot {
+        long version;
+        Map<String, Entry> entries;
+
+        /**
+         * The value of the key, or the default when the key is missing or has no value.
+         */
+        public String getValue(String key, String defaultValue) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.getValue() != null ? entry.getValue() : defaultValue;
+        }
+
+        /**
+         * The enabled flag of the key, or the default when the key is missing.
+         */
+        public boolean isEnabled(String key, boolean defaultValue) {
+            Entry entry = entries.get(key);
+            return entry != null ? entry.isEnabled() : defaultValue;
+        }
+    }
+
+    @Value
+    public static class Entry {
+        String value;
+        boolean enabled;
+    }
+}
@@ -58,6 +58,7 @@ public class UserService {
         roleRepository.findByName(Role.RoleType.ROLE_BUYER).ifPresent(roles::add);
         roleRepository.findByName(Role.RoleType.ROLE_SELLER).ifPresent(roles::add);
         user.setRoles(roles);
+        user.syncRoleMask();
         
         User savedUser = userRepository.save(user);
         
@@ -138,6 +139,7 @@ public class UserService {
                                      userId.toString(), 
                                      "Role disabled: " + roleType, request);
         }
+        user.syncRoleMask();
         
         userRepository.save(user);
         logger.info("User role toggled: {} - {} - {}", user.getEmail(), roleType, enable);
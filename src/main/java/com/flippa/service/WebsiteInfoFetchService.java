@@ -97,6 +97,8 @@ public class WebsiteInfoFetchService {
             }
             
             websiteInfoRepository.save(websiteInfo);
+            // Also bumps Listing.updatedAt, which re-versions the detail page and its cached fragments
+            listing.setWebsiteInfoVersion(listing.getWebsiteInfoVersion() + 1);
             logger.info("Website info fetched and saved for listing: {}", listingId);
             
         } catch (Exception e) {
@@ -0,0 +1,32 @@
+package com.flippa.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for work that must only happen once the surrounding transaction has committed,
+ * such as dropping an in-memory snapshot so the next reader cannot rebuild it from
+ * uncommitted state.
+ */
+public final class TransactionUtil {
+    
+    private TransactionUtil() {
+    }
+    
+    /**
+     * Runs the action after the current transaction commits, or immediately when no
+     * transaction is active. Nothing runs if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.flippa.view;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of the rendered, user-independent sections of the listing detail page.
+ * Entries are keyed by listing id and are only served while {@code Listing.updatedAt} matches,
+ * so an edit or image change is picked up on the next view without explicit invalidation.
+ * Category renames do not touch the listing row and clear the cache instead.
+ * <p>
+ * Fragments are rendered without a web context so the cached HTML can never carry request
+ * state such as a session id or CSRF token; per-user parts stay in listing-details.html.
+ */
+@Component
+public class ListingFragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingFragmentCache.class);
+
+    public static final String TEMPLATE = "fragments/listing-detail";
+    private static final String CONTENT_FRAGMENT = "content";
+    private static final String SUMMARY_FRAGMENT = "summary";
+
+    private final ITemplateEngine templateEngine;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Fragments> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ListingFragmentCache(ITemplateEngine templateEngine,
+                                @Value("${app.fragment-cache.max-entries:500}") int maxEntries,
+                                @Value("${app.fragment-cache.max-bytes:16777216}") long maxBytes) {
+        this.templateEngine = templateEngine;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached fragments for the listing version, rendering them from the
+     * supplied template variables on a miss.
+     */
+    public Fragments get(Long listingId, LocalDateTime updatedAt, Supplier<Map<String, Object>> variables) {
+        synchronized (this) {
+            Fragments cached = entries.get(listingId);
+            if (cached != null && cached.getUpdatedAt().equals(updatedAt)) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        // Render outside the lock; two concurrent misses just render the same HTML twice
+        Context context = new Context(Locale.ENGLISH, variables.get());
+        Fragments rendered = new Fragments(updatedAt,
+            templateEngine.process(TEMPLATE, Set.of(CONTENT_FRAGMENT), context),
+            templateEngine.process(TEMPLATE, Set.of(SUMMARY_FRAGMENT), context));
+        put(listingId, rendered);
+        return rendered;
+    }
+
+    public synchronized void evict(Long listingId) {
+        Fragments removed = entries.remove(listingId);
+        if (removed != null) {
+            bytes -= removed.getBytes();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes);
+    }
+
+    private synchronized void put(Long listingId, Fragments fragments) {
+        Fragments existing = entries.get(listingId);
+        if (existing != null && existing.getUpdatedAt().isAfter(fragments.getUpdatedAt())) {
+            // A newer version was rendered while this one was in flight
+            return;
+        }
+        if (fragments.getBytes() > maxBytes) {
+            return;
+        }
+        Fragments replaced = entries.put(listingId, fragments);
+        if (replaced != null) {
+            bytes -= replaced.getBytes();
+        }
+        bytes += fragments.getBytes();
+
+        Iterator<Map.Entry<Long, Fragments>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<Long, Fragments> entry = eldest.next();
+            bytes -= entry.getValue().getBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Listing fragments cached for {}: {} entries, {} bytes", listingId, entries.size(), bytes);
+        }
+    }
+
+    /**
+     * Rendered HTML of one listing version: the main column and the price/seller summary.
+     */
+    @lombok.Value
+    public static class Fragments {
+        LocalDateTime updatedAt;
+        String content;
+        String summary;
+
+        public long getBytes() {
+            // Strings are UTF-16 in the worst case
+            return 2L * (content.length() + summary.length());
+        }
+    }
+
+    @lombok.Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long evictions;
+        int entries;
+        long bytes;
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
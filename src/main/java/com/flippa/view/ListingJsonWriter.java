@@ -0,0 +1,93 @@
+package com.flippa.view;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingField;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Writes listing cards for the JSON API token by token with a {@link JsonGenerator}, straight
+ * from the query projections. Only the selected fields are written.
+ */
+@Component
+public class ListingJsonWriter {
+    
+    private final ObjectMapper objectMapper;
+    
+    public ListingJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * {@code {"items": [...], "nextCursor": "..."}}; nextCursor is null on the last page.
+     */
+    public void writePage(CursorPage<ListingCard> page, Set<ListingField> fields, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            for (ListingCard card : page.getItems()) {
+                writeCard(generator, card, fields);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.getNextCursor());
+            generator.writeEndObject();
+        }
+    }
+    
+    public void writeListing(ListingCard card, Set<ListingField> fields, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            writeCard(generator, card, fields);
+        }
+    }
+    
+    public void writeError(String message, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+        }
+    }
+    
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    private static void writeCard(JsonGenerator generator, ListingCard card, Set<ListingField> fields) throws IOException {
+        generator.writeStartObject();
+        for (ListingField field : fields) {
+            String name = field.getJsonName();
+            switch (field) {
+                case ID -> generator.writeNumberField(name, card.getId());
+                case TITLE -> generator.writeStringField(name, card.getTitle());
+                case SUMMARY -> generator.writeStringField(name, card.getSummary());
+                case TYPE -> generator.writeStringField(name, card.getType() != null ? card.getType().name() : null);
+                case MODE -> generator.writeStringField(name,
+                    card.getListingMode() != null ? card.getListingMode().name() : null);
+                case PRICE -> generator.writeNumberField(name, card.getPrice());
+                case CURRENT_BID -> generator.writeNumberField(name, card.getCurrentBid());
+                case VERIFIED -> generator.writeBooleanField(name, Boolean.TRUE.equals(card.getVerified()));
+                case FEATURED -> generator.writeBooleanField(name, Boolean.TRUE.equals(card.getFeatured()));
+                case CATEGORY -> generator.writeStringField(name, card.getCategoryName());
+                case IMAGE_URL -> generator.writeStringField(name, card.getPrimaryImagePath() != null
+                    ? "/images/" + card.getPrimaryImagePath() : card.getImageUrl());
+                case CREATED_AT -> writeTime(generator, name, card.getCreatedAt());
+                case AUCTION_END_DATE -> writeTime(generator, name, card.getAuctionEndDate());
+                case URL -> generator.writeStringField(name, "/listings/" + card.getId());
+            }
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeTime(JsonGenerator generator, String name, LocalDateTime time) throws IOException {
+        generator.writeStringField(name, time != null ? time.toString() : null);
+    }
+}
@@ -0,0 +1,16 @@
+-- Enabled roles of each user as a bitmask (see Role.RoleType bits), so authorization checks
+-- do not need the user_roles join. Kept in step with user_roles whenever roles change.
+ALTER TABLE users ADD COLUMN role_mask INT NOT NULL DEFAULT 0;
+
+UPDATE users u SET role_mask = (
+    SELECT COALESCE(SUM(CASE r.name
+                            WHEN 'ROLE_USER' THEN 1
+                            WHEN 'ROLE_SELLER' THEN 2
+                            WHEN 'ROLE_BUYER' THEN 4
+                            WHEN 'ROLE_ADMIN' THEN 8
+                            WHEN 'ROLE_SUPER_ADMIN' THEN 16
+                            ELSE 0 END), 0)
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    WHERE ur.user_id = u.id AND r.enabled = TRUE
+);
@@ -0,0 +1,4 @@
+-- Bumped by WebsiteInfoFetchService whenever a listing's website info is saved.
+-- The fetch runs asynchronously after the listing is written, so without it the detail page
+-- version (and its cached fragments) would not change when the analytics arrive.
+ALTER TABLE listings ADD COLUMN IF NOT EXISTS website_info_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Composite indexes backing the keyset-paginated browse page.
+-- Each matches one sort order: (status, sort column, id).
+CREATE INDEX IF NOT EXISTS idx_listings_status_created_id ON listings(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_listings_status_price_id ON listings(status, price, id);
+CREATE INDEX IF NOT EXISTS idx_listings_status_auction_end_id ON listings(status, auction_end_date, id);
@@ -0,0 +1,3 @@
+-- Bumped by ListingImageService whenever a listing's image set changes.
+-- Together with updated_at it versions the listing detail page for conditional GETs.
+ALTER TABLE listings ADD COLUMN IF NOT EXISTS images_version INT NOT NULL DEFAULT 0;
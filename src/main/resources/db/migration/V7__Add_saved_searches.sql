@@ -0,0 +1,31 @@
+-- Searches buyers ask to be notified about. A null filter column means "any".
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    query VARCHAR(200),
+    listing_type VARCHAR(50),
+    category_id BIGINT,
+    listing_mode VARCHAR(50),
+    verified_only BOOLEAN NOT NULL DEFAULT FALSE,
+    price_bucket VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_saved_searches_user ON saved_searches(user_id);
+
+-- Notification queue: one row per listing that newly matched a saved search.
+-- seen_at stays null until the owner has been shown the match.
+CREATE TABLE IF NOT EXISTS saved_search_matches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    saved_search_id BIGINT NOT NULL,
+    listing_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    seen_at TIMESTAMP,
+    FOREIGN KEY (saved_search_id) REFERENCES saved_searches(id) ON DELETE CASCADE,
+    FOREIGN KEY (listing_id) REFERENCES listings(id) ON DELETE CASCADE,
+    UNIQUE (saved_search_id, listing_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_saved_search_matches_listing ON saved_search_matches(listing_id);
@@ -0,0 +1,14 @@
+-- Precomputed "similar listings": up to K neighbours per ACTIVE listing, best first.
+-- Replaced wholesale by each run of the similarity job.
+CREATE TABLE IF NOT EXISTS similar_listings (
+    listing_id BIGINT NOT NULL,
+    neighbour_rank INT NOT NULL,
+    similar_listing_id BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    computed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (listing_id, neighbour_rank),
+    FOREIGN KEY (listing_id) REFERENCES listings(id) ON DELETE CASCADE,
+    FOREIGN KEY (similar_listing_id) REFERENCES listings(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_similar_listings_similar ON similar_listings(similar_listing_id);
@@ -0,0 +1,7 @@
+-- Per-listing counters written behind by ListingViewService in periodic batches.
+CREATE TABLE IF NOT EXISTS listing_stats (
+    listing_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (listing_id) REFERENCES listings(id) ON DELETE CASCADE
+);
@@ -25,3 +25,38 @@ document.addEventListener('DOMContentLoaded', function() {
     });
 });
 
+
+// Search box typeahead: inputs marked with data-suggest get suggestions from /api/suggest
+document.addEventListener('DOMContentLoaded', function() {
+    document.querySelectorAll('input[data-suggest]').forEach(function(input, index) {
+        const list = document.createElement('datalist');
+        list.id = 'suggestions-' + index;
+        input.setAttribute('list', list.id);
+        input.setAttribute('autocomplete', 'off');
+        input.after(list);
+
+        let timer = null;
+        let lastQuery = '';
+        input.addEventListener('input', function() {
+            clearTimeout(timer);
+            timer = setTimeout(function() {
+                const query = input.value.trim();
+                if (query.length < 2 || query === lastQuery) {
+                    return;
+                }
+                lastQuery = query;
+                fetch('/api/suggest?q=' + encodeURIComponent(query))
+                    .then(function(response) { return response.ok ? response.json() : []; })
+                    .then(function(suggestions) {
+                        list.innerHTML = '';
+                        suggestions.forEach(function(suggestion) {
+                            const option = document.createElement('option');
+                            option.value = suggestion.text;
+                            list.appendChild(option);
+                        });
+                    })
+                    .catch(function() {});
+            }, 120);
+        });
+    });
+});
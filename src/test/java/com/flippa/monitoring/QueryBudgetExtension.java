@@ -0,0 +1,41 @@
+package com.flippa.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the SQL statements issued by a test method through the same Hibernate hooks
+ * QueryBudgetFilter uses for HTTP requests, and fails the test when it is over its
+ * {@link QueryBudget}.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryStats.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryStats stats = QueryStats.stop();
+        Optional<QueryBudget> budget = findBudget(context);
+        if (stats == null || budget.isEmpty()) {
+            return;
+        }
+        if (stats.getStatements() > budget.get().statements()) {
+            fail(context.getDisplayName() + " used " + stats
+                 + " (budget " + budget.get().statements() + " statements)");
+        }
+    }
+
+    private static Optional<QueryBudget> findBudget(ExtensionContext context) {
+        Optional<QueryBudget> budget = AnnotationSupport.findAnnotation(context.getTestMethod(), QueryBudget.class);
+        return budget.isPresent() ? budget : AnnotationSupport.findAnnotation(context.getTestClass(), QueryBudget.class);
+    }
+}
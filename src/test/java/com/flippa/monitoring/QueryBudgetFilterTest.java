@@ -0,0 +1,108 @@
+package com.flippa.monitoring;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    private QueryBudgetProperties properties;
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryBudgetProperties();
+        properties.setDefaultStatements(20);
+        properties.getEndpoints().put("/listings/*", 3);
+        properties.getEndpoints().put("/admin/**", 30);
+        filter = new QueryBudgetFilter(properties);
+    }
+
+    @Test
+    void testBudgetFor_UsesFirstMatchingPattern() {
+        assertEquals(3, filter.budgetFor("/listings/42"));
+        assertEquals(30, filter.budgetFor("/admin/users/7"));
+        assertEquals(20, filter.budgetFor("/escrow/my-escrows"));
+    }
+
+    @Test
+    void testDoFilter_ExposesCountsAsHeaders() throws Exception {
+        // Arrange
+        properties.setExposeHeaders(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/listings/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain(issuing(5)));
+
+        // Assert
+        assertEquals("5", response.getHeader(QueryBudgetFilter.STATEMENTS_HEADER));
+        assertEquals("3", response.getHeader(QueryBudgetFilter.BUDGET_HEADER));
+        assertEquals("rendered", response.getContentAsString());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void testDoFilter_StampsHeadersWithoutBufferingCommittedBody() throws Exception {
+        // Arrange
+        properties.setExposeHeaders(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/exports/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet streaming = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                QueryStats.recordStatement();
+                resp.getOutputStream().write("chunk-1,".getBytes());
+                resp.flushBuffer();
+                QueryStats.recordStatement();
+                resp.getOutputStream().write("chunk-2".getBytes());
+            }
+        };
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain(streaming));
+
+        // Assert
+        assertTrue(response.isCommitted());
+        assertEquals("1", response.getHeader(QueryBudgetFilter.STATEMENTS_HEADER));
+        assertEquals("chunk-1,chunk-2", response.getContentAsString());
+    }
+
+    @Test
+    void testDoFilter_NoHeadersOutsideDevMode() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/listings/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain(issuing(1)));
+
+        // Assert
+        assertNull(response.getHeader(QueryBudgetFilter.STATEMENTS_HEADER));
+        assertEquals("rendered", response.getContentAsString());
+    }
+
+    /**
+     * A servlet that pretends to run the given number of SQL statements before rendering.
+     */
+    private static HttpServlet issuing(int statements) {
+        return new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < statements; i++) {
+                    QueryStats.recordStatement();
+                }
+                resp.getWriter().write("rendered");
+            }
+        };
+    }
+}
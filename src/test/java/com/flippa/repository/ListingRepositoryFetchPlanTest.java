@@ -0,0 +1,185 @@
+package com.flippa.repository;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingVersion;
+import com.flippa.entity.Category;
+import com.flippa.entity.Listing;
+import com.flippa.entity.ListingImage;
+import com.flippa.entity.SimilarListing;
+import com.flippa.entity.User;
+import com.flippa.entity.WebsiteInfo;
+import com.flippa.monitoring.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the listing page fetch plan: each page must load in at most two statements.
+ */
+@DataJpaTest
+@QueryBudget(statements = 2)
+class ListingRepositoryFetchPlanTest {
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long listingId;
+    private Long similarListingId;
+
+    @BeforeEach
+    void setUp() {
+        // Seeded by the V2 migration
+        User seller = entityManager.find(User.class, 1L);
+
+        Category category = new Category();
+        category.setName("Fetch Plan Category");
+        entityManager.persist(category);
+
+        Listing listing = new Listing();
+        listing.setSeller(seller);
+        listing.setCategory(category);
+        listing.setTitle("Shopify Store");
+        listing.setDescription("Profitable store");
+        listing.setType(Listing.ListingType.WEBSITE);
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+        listing.setPrice(new BigDecimal("5000.00"));
+        entityManager.persist(listing);
+
+        for (int i = 0; i < 3; i++) {
+            ListingImage image = new ListingImage();
+            image.setListing(listing);
+            image.setFilePath("listings/image-" + i + ".jpg");
+            image.setFileName("image-" + i + ".jpg");
+            image.setFileSize(1024L);
+            image.setContentType("image/jpeg");
+            image.setIsPrimary(i == 0);
+            image.setDisplayOrder(2 - i);
+            entityManager.persist(image);
+        }
+
+        WebsiteInfo websiteInfo = new WebsiteInfo();
+        websiteInfo.setListing(listing);
+        websiteInfo.setDomain("example.com");
+        websiteInfo.setPlatform("Shopify");
+        entityManager.persist(websiteInfo);
+
+        Listing similar = new Listing();
+        similar.setSeller(seller);
+        similar.setCategory(category);
+        similar.setTitle("Shopify Fashion Store");
+        similar.setDescription("Profitable store");
+        similar.setType(Listing.ListingType.WEBSITE);
+        similar.setStatus(Listing.ListingStatus.ACTIVE);
+        similar.setPrice(new BigDecimal("7000.00"));
+        entityManager.persist(similar);
+        entityManager.persist(new SimilarListing(listing.getId(), 0, similar.getId(), 0.8, LocalDateTime.now()));
+
+        entityManager.flush();
+        entityManager.clear();
+        listingId = listing.getId();
+        similarListingId = similar.getId();
+    }
+
+    @Test
+    void testFindFullById_LoadsListingPagesInBudget() {
+        // Act
+        Listing listing = listingRepository.findFullById(listingId).orElseThrow();
+        touchDetailPage(listing);
+
+        // Assert
+        assertEquals(3, listing.getListingImages().size());
+        assertEquals(0, listing.getListingImages().get(0).getDisplayOrder());
+        assertEquals("Shopify", listing.getWebsiteInfo().getPlatform());
+        assertNull(listing.getDomainVerification());
+        assertNull(listing.getSocialMediaVerification());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    void testFindVersionById_ReadsVersionWithoutLoadingListing() {
+        // Act
+        ListingVersion version = listingRepository.findVersionById(listingId).orElseThrow();
+
+        // Assert
+        assertEquals(listingId, version.getId());
+        assertNotNull(version.getUpdatedAt());
+        assertEquals(0, version.getImagesVersion());
+        assertEquals(0, version.getWebsiteInfoVersion());
+        assertNotNull(version.getCategoryUpdatedAt());
+        assertTrue(version.getETag("Flippa Clone").startsWith("\"" + listingId + "-"));
+    }
+
+    @Test
+    @QueryBudget(statements = 4)
+    void testFindVersionById_ChangesWhenWebsiteInfoIsSaved() {
+        // Arrange
+        ListingVersion before = listingRepository.findVersionById(listingId).orElseThrow();
+        Listing listing = listingRepository.findFullById(listingId).orElseThrow();
+
+        // Act
+        listing.setWebsiteInfoVersion(listing.getWebsiteInfoVersion() + 1);
+        entityManager.flush();
+        ListingVersion after = listingRepository.findVersionById(listingId).orElseThrow();
+
+        // Assert
+        assertEquals(1, after.getWebsiteInfoVersion());
+        assertNotEquals(before.getETag("Flippa Clone"), after.getETag("Flippa Clone"));
+        assertFalse(after.getUpdatedAt().isBefore(before.getUpdatedAt()));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    void testStreamForExport_StreamsRowsInOneStatement() {
+        // Act
+        List<Object[]> rows;
+        try (Stream<Object[]> stream = listingRepository.streamForExport()) {
+            rows = stream.toList();
+        }
+
+        // Assert
+        Object[] row = rows.stream().filter(r -> ((Listing) r[0]).getId().equals(listingId)).findFirst().orElseThrow();
+        Listing listing = (Listing) row[0];
+        assertEquals("Shopify", listing.getWebsiteInfo().getPlatform());
+        assertNull(listing.getDomainVerification());
+        assertEquals(1L, listing.getSeller().getId());
+        assertNotNull(row[1]);
+        assertEquals("Fetch Plan Category", row[2]);
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    void testFindSimilarCards_ReadsNeighboursInOneStatement() {
+        // Act
+        List<ListingCard> cards = listingRepository.findSimilarCards(listingId, Listing.ListingStatus.ACTIVE);
+
+        // Assert
+        assertEquals(1, cards.size());
+        assertEquals(similarListingId, cards.get(0).getId());
+        assertEquals("Fetch Plan Category", cards.get(0).getCategoryName());
+    }
+
+    /**
+     * Reads every association ListingService.convertToDTO and the listing templates read.
+     */
+    private static void touchDetailPage(Listing listing) {
+        listing.getSeller().getFirstName();
+        listing.getSeller().getEmail();
+        listing.getCategory().getName();
+        listing.getListingImages().forEach(ListingImage::getFilePath);
+        listing.getDomainVerification();
+        listing.getSocialMediaVerification();
+        listing.getWebsiteInfo();
+    }
+}
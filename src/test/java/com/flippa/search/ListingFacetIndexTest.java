@@ -0,0 +1,152 @@
+package com.flippa.search;
+
+import com.flippa.dto.FacetCounts;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.PriceBucket;
+import com.flippa.entity.Category;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingFacetIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ListingFacetIndex(listingRepository);
+        index.update(listing(1L, Listing.ListingType.WEBSITE, 10L, Listing.ListingMode.NORMAL, true, "500.00"));
+        index.update(listing(2L, Listing.ListingType.WEBSITE, 20L, Listing.ListingMode.AUCTION, false, "5000.00"));
+        index.update(listing(3L, Listing.ListingType.DOMAIN, 10L, Listing.ListingMode.NORMAL, true, "75000.00"));
+    }
+
+    @Test
+    void testMatch_IntersectsSelectedFacets() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setCategoryId(10L);
+        filter.setVerified(true);
+
+        // Act
+        RoaringBitmap result = index.match(filter);
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), result);
+    }
+
+    @Test
+    void testMatch_PriceBucket() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setPriceBucket(PriceBucket.FROM_1K_TO_10K);
+
+        // Act & Assert
+        assertEquals(RoaringBitmap.bitmapOf(2), index.match(filter));
+    }
+
+    @Test
+    void testCounts_IgnoreOwnFacetSelection() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setType(Listing.ListingType.WEBSITE);
+
+        // Act
+        FacetCounts counts = index.counts(filter);
+
+        // Assert
+        assertEquals(2, counts.getTotal());
+        assertEquals(2, counts.getTypes().get(Listing.ListingType.WEBSITE));
+        assertEquals(1, counts.getTypes().get(Listing.ListingType.DOMAIN));
+        assertEquals(1, counts.getCategories().get(10L));
+        assertEquals(1, counts.getCategories().get(20L));
+        assertEquals(1, counts.getVerified());
+        assertNull(counts.getPriceBuckets().get(PriceBucket.FROM_50K_TO_250K));
+    }
+
+    @Test
+    void testCounts_WithinScope() {
+        // Act
+        FacetCounts counts = index.counts(new ListingFilter(), RoaringBitmap.bitmapOf(2, 3));
+
+        // Assert
+        assertEquals(2, counts.getTotal());
+        assertEquals(1, counts.getModes().get(Listing.ListingMode.AUCTION));
+        assertEquals(1, counts.getVerified());
+    }
+
+    @Test
+    void testUpdate_MovesListingBetweenFacets() {
+        // Act
+        index.update(listing(2L, Listing.ListingType.DOMAIN, 10L, Listing.ListingMode.NORMAL, true, "5000.00"));
+
+        // Assert
+        FacetCounts counts = index.counts(new ListingFilter());
+        assertEquals(1, counts.getTypes().get(Listing.ListingType.WEBSITE));
+        assertEquals(2, counts.getTypes().get(Listing.ListingType.DOMAIN));
+        assertNull(counts.getCategories().get(20L));
+        assertEquals(3, counts.getVerified());
+    }
+
+    @Test
+    void testUpdate_RemovesListingThatIsNoLongerActive() {
+        // Arrange
+        Listing sold = listing(1L, Listing.ListingType.WEBSITE, 10L, Listing.ListingMode.NORMAL, true, "500.00");
+        sold.setStatus(Listing.ListingStatus.SOLD);
+
+        // Act
+        index.update(sold);
+
+        // Assert
+        assertEquals(2, index.size());
+        assertFalse(index.match(new ListingFilter()).contains(1));
+        assertNull(index.counts(new ListingFilter()).getPriceBuckets().get(PriceBucket.UNDER_1K));
+    }
+
+    @Test
+    void testRebuild_LoadsActiveListings() {
+        // Arrange
+        when(listingRepository.streamFacetDocuments(Listing.ListingStatus.ACTIVE))
+            .thenReturn(Stream.<Object[]>of(new Object[]{7L, Listing.ListingType.SAAS, null,
+                                                         Listing.ListingMode.NORMAL, false, new BigDecimal("300000.00")}));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(1, index.size());
+        FacetCounts counts = index.counts(new ListingFilter());
+        assertEquals(1, counts.getTypes().get(Listing.ListingType.SAAS));
+        assertEquals(1, counts.getPriceBuckets().get(PriceBucket.OVER_250K));
+        assertEquals(0, counts.getVerified());
+    }
+
+    private static Listing listing(Long id, Listing.ListingType type, Long categoryId,
+                                   Listing.ListingMode mode, boolean verified, String price) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Listing listing = new Listing();
+        listing.setId(id);
+        listing.setType(type);
+        listing.setCategory(category);
+        listing.setListingMode(mode);
+        listing.setVerified(verified);
+        listing.setPrice(new BigDecimal(price));
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+        return listing;
+    }
+}
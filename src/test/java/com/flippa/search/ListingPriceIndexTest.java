@@ -0,0 +1,131 @@
+package com.flippa.search;
+
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingPriceIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ListingPriceIndex(listingRepository);
+        index.put(1L, 50000);
+        index.put(2L, 10000);
+        index.put(3L, 50000);
+        index.put(4L, 250000);
+    }
+
+    @Test
+    void testPage_AscendingByPriceThenId() {
+        // Act
+        long[] ids = index.page(false, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{2L, 1L, 3L, 4L}, ids);
+    }
+
+    @Test
+    void testPage_SeeksPastCursorWithinEqualPrices() {
+        // Act
+        long[] ascending = index.page(false, 50000, 1L, Long.MIN_VALUE, Long.MAX_VALUE, null, 10);
+        long[] descending = index.page(true, 50000, 3L, Long.MIN_VALUE, Long.MAX_VALUE, null, 10);
+
+        // Assert
+        assertArrayEquals(new long[]{3L, 4L}, ascending);
+        assertArrayEquals(new long[]{1L, 2L}, descending);
+    }
+
+    @Test
+    void testPage_RespectsRangeFilterAndLimit() {
+        // Act
+        long[] inRange = index.page(true, Long.MAX_VALUE, Long.MAX_VALUE, 10000, 250000, null, 10);
+        long[] filtered = index.page(false, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE,
+                                     RoaringBitmap.bitmapOf(3, 4), 1);
+
+        // Assert - the upper bound is exclusive
+        assertArrayEquals(new long[]{3L, 1L, 2L}, inRange);
+        assertArrayEquals(new long[]{3L}, filtered);
+    }
+
+    @Test
+    void testCount_UsesHalfOpenRange() {
+        assertEquals(3, index.count(10000, 250000));
+        assertEquals(4, index.count(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(0, index.count(300000, 400000));
+    }
+
+    @Test
+    void testUpdate_MovesRepricedListingAndRemovesSoldListing() {
+        // Arrange
+        Listing repriced = listing(2L, "7500.00", Listing.ListingStatus.ACTIVE);
+        Listing sold = listing(3L, "500.00", Listing.ListingStatus.SOLD);
+
+        // Act
+        index.update(repriced);
+        index.update(sold);
+
+        // Assert
+        assertArrayEquals(new long[]{1L, 4L, 2L},
+                          index.page(false, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRebuild_LoadsActiveListingsInPriceOrder() {
+        // Arrange
+        when(listingRepository.streamPriceDocuments(Listing.ListingStatus.ACTIVE)).thenReturn(Stream.of(
+            new Object[]{9L, new BigDecimal("99.99")}, new Object[]{7L, new BigDecimal("1200.50")}));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(2, index.size());
+        assertArrayEquals(new long[]{7L, 9L},
+                          index.page(true, Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null, 10));
+        assertEquals(1, index.count(9999, 10000));
+    }
+
+    @Test
+    void testMemory_StaysUnderTwentyBytesPerListing() {
+        // Arrange
+        for (long id = 100; id < 20_100; id++) {
+            index.put(id, id * 7 % 1_000_000);
+        }
+
+        // Assert
+        assertTrue(index.memoryBytes() < 20L * index.size(),
+                   "price index uses " + index.memoryBytes() + " bytes for " + index.size() + " listings");
+    }
+
+    @Test
+    void testToCents_RoundsHalfUp() {
+        assertEquals(123457L, ListingPriceIndex.toCents(new BigDecimal("1234.565")));
+        assertEquals(100000L, ListingPriceIndex.toCents(new BigDecimal("1000")));
+    }
+
+    private static Listing listing(Long id, String price, Listing.ListingStatus status) {
+        Listing listing = new Listing();
+        listing.setId(id);
+        listing.setPrice(new BigDecimal(price));
+        listing.setStatus(status);
+        return listing;
+    }
+}
@@ -0,0 +1,143 @@
+package com.flippa.search;
+
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingSearchIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ListingSearchIndex(listingRepository);
+        index.index(1L, "Shopify Store", "Profitable dropshipping store selling pet supplies");
+        index.index(2L, "WordPress Blog", "Tech blog about shopify themes");
+        index.index(3L, "SaaS Analytics Tool", "Subscription analytics for online stores");
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAboveDescriptionMatches() {
+        // Act
+        List<Long> result = index.search("shopify", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L), result);
+    }
+
+    @Test
+    void testSearch_RequiresEveryTerm() {
+        // Act
+        List<Long> result = index.search("shopify blog", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(2L), result);
+    }
+
+    @Test
+    void testSearch_MatchesTermPrefixes() {
+        // Act
+        List<Long> result = index.search("analyt", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(3L), result);
+    }
+
+    @Test
+    void testSearch_RespectsLimit() {
+        // Act
+        List<Long> result = index.search("shopify", 1);
+
+        // Assert
+        assertEquals(Arrays.asList(1L), result);
+    }
+
+    @Test
+    void testSearch_BlankQuery() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    void testUpdate_RemovesListingThatIsNoLongerActive() {
+        // Arrange
+        Listing listing = new Listing();
+        listing.setId(1L);
+        listing.setTitle("Shopify Store");
+        listing.setDescription("Sold");
+        listing.setStatus(Listing.ListingStatus.SOLD);
+
+        // Act
+        index.update(listing);
+
+        // Assert
+        assertEquals(Arrays.asList(2L), index.search("shopify", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousTerms() {
+        // Act
+        index.index(2L, "Recipe Blog", "Cooking content");
+
+        // Assert
+        assertEquals(Arrays.asList(1L), index.search("shopify", 10));
+        assertEquals(Arrays.asList(2L), index.search("recipe", 10));
+    }
+
+    @Test
+    void testIndex_KeepsPostingsOrderedWhenIdsArriveOutOfOrder() {
+        // Act
+        index.index(9L, "Shopify Outlet", null);
+        index.index(5L, "Shopify Outlet", null);
+        index.remove(1L);
+
+        // Assert - equal scores go to the newer id
+        assertEquals(Arrays.asList(9L, 5L, 2L), index.search("shopify", 10));
+        assertEquals(Arrays.asList(9L, 5L), index.search("outlet shop", 10));
+    }
+
+    @Test
+    void testSearch_CapsPrefixExpansions() {
+        // Arrange
+        for (long id = 10; id < 10 + ListingSearchIndex.MAX_PREFIX_EXPANSIONS + 6; id++) {
+            index.index(id, "Niche" + id, null);
+        }
+
+        // Act
+        List<Long> result = index.search("niche", 1000);
+
+        // Assert
+        assertEquals(ListingSearchIndex.MAX_PREFIX_EXPANSIONS, result.size());
+    }
+
+    @Test
+    void testRebuild_LoadsActiveListings() {
+        // Arrange
+        when(listingRepository.streamSearchDocuments(Listing.ListingStatus.ACTIVE))
+            .thenReturn(Stream.<Object[]>of(new Object[]{7L, "Domain Portfolio", "Premium domains"}));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(7L), index.search("domain", 10));
+        assertTrue(index.search("shopify", 10).isEmpty());
+    }
+}
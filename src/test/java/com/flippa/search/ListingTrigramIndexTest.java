@@ -0,0 +1,122 @@
+package com.flippa.search;
+
+import com.flippa.entity.Category;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingTrigramIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ListingTrigramIndex(listingRepository);
+        index.index(1L, "Shopify Store", "E-commerce");
+        index.index(2L, "WordPress Blog", "Blogs");
+        index.index(3L, "SaaS Analytics Tool", "Software");
+    }
+
+    @Test
+    void testSearch_FindsMisspelledTitles() {
+        assertEquals(Arrays.asList(1L), index.search("shopfy store", 10));
+        assertEquals(Arrays.asList(2L), index.search("wordpres blog", 10));
+    }
+
+    @Test
+    void testSearch_MatchesCategoryNames() {
+        assertEquals(Arrays.asList(3L), index.search("sofware", 10));
+    }
+
+    @Test
+    void testSearch_IgnoresUnrelatedQueries() {
+        assertTrue(index.search("domain portfolio", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    void testUpdate_ReindexesAndRemoves() {
+        // Arrange
+        Category category = new Category();
+        category.setName("Blogs");
+        Listing renamed = new Listing();
+        renamed.setId(2L);
+        renamed.setTitle("Recipe Blog");
+        renamed.setCategory(category);
+        renamed.setStatus(Listing.ListingStatus.ACTIVE);
+        Listing sold = new Listing();
+        sold.setId(1L);
+        sold.setStatus(Listing.ListingStatus.SOLD);
+
+        // Act
+        index.update(renamed);
+        index.update(sold);
+
+        // Assert
+        assertTrue(index.search("wordpres", 10).isEmpty());
+        assertEquals(Arrays.asList(2L), index.search("recipie", 10));
+        assertTrue(index.search("shopfy", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testTrigrams_BoundedPerListing() {
+        // Arrange
+        StringBuilder longTitle = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longTitle.append("word").append(i).append(' ');
+        }
+
+        // Act
+        long[] grams = ListingTrigramIndex.trigrams(longTitle.toString(), "Category");
+
+        // Assert
+        assertEquals(ListingTrigramIndex.MAX_TRIGRAMS_PER_LISTING, grams.length);
+    }
+
+    @Test
+    void testRebuild_LoadsActiveListings() {
+        // Arrange
+        when(listingRepository.streamTrigramDocuments(Listing.ListingStatus.ACTIVE))
+            .thenReturn(Stream.<Object[]>of(new Object[]{7L, "Domain Portfolio", null}));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(7L), index.search("domian portfolio", 10));
+    }
+
+    @Test
+    void testRelabelCategory_ReindexesOnlyThatCategory() {
+        // Arrange
+        when(listingRepository.streamTrigramDocumentsByCategory(Listing.ListingStatus.ACTIVE, 10L))
+            .thenReturn(Stream.<Object[]>of(new Object[]{1L, "Shopify Store", "Dropshipping"}));
+
+        // Act
+        index.relabelCategory(10L);
+
+        // Assert
+        assertEquals(Arrays.asList(1L), index.search("dropshiping", 10));
+        assertTrue(index.search("e-comerce", 10).isEmpty());
+        assertEquals(Arrays.asList(2L), index.search("wordpres blog", 10));
+        assertEquals(3, index.size());
+        verify(listingRepository, never()).streamTrigramDocuments(any());
+    }
+}
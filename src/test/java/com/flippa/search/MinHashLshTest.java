@@ -0,0 +1,90 @@
+package com.flippa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshTest {
+
+    @Test
+    void testSignature_EstimatesJaccardSimilarity() {
+        // Arrange: 30 shared features out of 50 distinct -> Jaccard 0.6
+        Set<String> a = features("shared", 0, 30);
+        a.addAll(features("a", 0, 10));
+        Set<String> b = features("shared", 0, 30);
+        b.addAll(features("b", 0, 10));
+
+        // Act
+        double estimate = MinHashLsh.similarity(MinHashLsh.signature(a), MinHashLsh.signature(b));
+
+        // Assert
+        assertEquals(0.6, estimate, 0.2);
+        assertEquals(1.0, MinHashLsh.similarity(MinHashLsh.signature(a), MinHashLsh.signature(new HashSet<>(a))));
+        assertNull(MinHashLsh.signature(Set.of()));
+    }
+
+    @Test
+    void testTopNeighbours_PairsNearDuplicatesOnly() {
+        // Arrange
+        List<Set<String>> documents = List.of(
+            Set.of("shopify", "store", "dropshipping", "fashion", "profitable", "platform:shopify"),
+            Set.of("recipe", "cooking", "blog", "adsense", "traffic"),
+            Set.of("shopify", "store", "dropshipping", "fashion", "growing", "platform:shopify"),
+            Set.of()
+        );
+
+        // Act
+        List<List<MinHashLsh.Neighbour>> result = MinHashLsh.topNeighbours(documents, 5, 0.3);
+
+        // Assert
+        assertEquals(4, result.size());
+        assertEquals(List.of(2), indexes(result.get(0)));
+        assertEquals(List.of(0), indexes(result.get(2)));
+        assertTrue(result.get(1).isEmpty());
+        assertTrue(result.get(3).isEmpty());
+    }
+
+    @Test
+    void testTopNeighbours_KeepsBestKInScoreOrderAcrossPartitions() {
+        // Arrange: 1000 documents in clusters of 10 near-duplicates, enough to fork several partitions
+        List<Set<String>> documents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Set<String> features = features("cluster" + (i / 10) + "-", 0, 20);
+            features.add("doc" + i);
+            documents.add(features);
+        }
+
+        // Act
+        List<List<MinHashLsh.Neighbour>> result = MinHashLsh.topNeighbours(documents, 3, 0.5);
+
+        // Assert
+        for (int i = 0; i < documents.size(); i++) {
+            List<MinHashLsh.Neighbour> neighbours = result.get(i);
+            assertEquals(3, neighbours.size());
+            for (int r = 0; r < neighbours.size(); r++) {
+                assertEquals(i / 10, neighbours.get(r).getIndex() / 10);
+                assertNotEquals(i, neighbours.get(r).getIndex());
+                if (r > 0) {
+                    assertTrue(neighbours.get(r - 1).getScore() >= neighbours.get(r).getScore());
+                }
+            }
+        }
+    }
+
+    private static Set<String> features(String prefix, int from, int to) {
+        Set<String> features = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            features.add(prefix + i);
+        }
+        return features;
+    }
+
+    private static List<Integer> indexes(List<MinHashLsh.Neighbour> neighbours) {
+        return neighbours.stream().map(MinHashLsh.Neighbour::getIndex).toList();
+    }
+}
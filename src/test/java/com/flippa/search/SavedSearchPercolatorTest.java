@@ -0,0 +1,153 @@
+package com.flippa.search;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.PriceBucket;
+import com.flippa.entity.Category;
+import com.flippa.entity.Listing;
+import com.flippa.entity.User;
+import com.flippa.repository.SavedSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchPercolatorTest {
+
+    private static final Long SELLER_ID = 1L;
+    private static final Long BUYER_ID = 2L;
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    private SavedSearchPercolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        percolator = new SavedSearchPercolator(savedSearchRepository);
+    }
+
+    @Test
+    void testMatch_RequiresEveryTermAsWordPrefix() {
+        // Arrange
+        percolator.put(10L, BUYER_ID, "shop store", new ListingFilter());
+        percolator.put(11L, BUYER_ID, "shop blog", new ListingFilter());
+
+        // Act
+        List<Long> result = percolator.match(listing("Shopify Store", "Profitable dropshipping business"));
+
+        // Assert
+        assertEquals(List.of(10L), result);
+    }
+
+    @Test
+    void testMatch_AppliesFacetConstraints() {
+        // Arrange
+        ListingFilter websitesInCategory = new ListingFilter();
+        websitesInCategory.setType(Listing.ListingType.WEBSITE);
+        websitesInCategory.setCategoryId(5L);
+        ListingFilter domainsOnly = new ListingFilter();
+        domainsOnly.setType(Listing.ListingType.DOMAIN);
+        ListingFilter expensive = new ListingFilter();
+        expensive.setPriceBucket(PriceBucket.OVER_250K);
+        percolator.put(10L, BUYER_ID, null, websitesInCategory);
+        percolator.put(11L, BUYER_ID, null, domainsOnly);
+        percolator.put(12L, BUYER_ID, "store", expensive);
+
+        // Act
+        List<Long> result = percolator.match(listing("Shopify Store", "Dropshipping"));
+
+        // Assert
+        assertEquals(List.of(10L), result);
+    }
+
+    @Test
+    void testMatch_VerifiedOnlySearchSkipsUnverifiedListings() {
+        // Arrange
+        ListingFilter verifiedOnly = new ListingFilter();
+        verifiedOnly.setVerified(true);
+        percolator.put(10L, BUYER_ID, "store", verifiedOnly);
+        Listing listing = listing("Shopify Store", "Dropshipping");
+
+        // Act & Assert
+        assertTrue(percolator.match(listing).isEmpty());
+        listing.setVerified(true);
+        assertEquals(List.of(10L), percolator.match(listing));
+    }
+
+    @Test
+    void testMatch_SkipsSellersOwnSearches() {
+        // Arrange
+        percolator.put(10L, SELLER_ID, "store", new ListingFilter());
+
+        // Act & Assert
+        assertTrue(percolator.match(listing("Shopify Store", "Dropshipping")).isEmpty());
+    }
+
+    @Test
+    void testMatch_IgnoresSearchWithoutTermsOrFacets() {
+        // Arrange - stored before stop-word-only queries were refused
+        percolator.put(10L, BUYER_ID, "the", new ListingFilter());
+
+        // Act & Assert
+        assertTrue(percolator.match(listing("Shopify Store", "Profitable dropshipping business")).isEmpty());
+        assertEquals(0, percolator.size());
+    }
+
+    @Test
+    void testRemove_UnlinksSearchFromEveryIndex() {
+        // Arrange
+        percolator.put(10L, BUYER_ID, "store", new ListingFilter());
+        percolator.put(11L, BUYER_ID, null, new ListingFilter(Listing.ListingType.WEBSITE, null, null, null, null));
+
+        // Act
+        percolator.remove(10L);
+        percolator.remove(11L);
+
+        // Assert
+        assertTrue(percolator.match(listing("Shopify Store", "Dropshipping")).isEmpty());
+        assertEquals(0, percolator.size());
+        assertEquals(0, percolator.anchorCount());
+    }
+
+    @Test
+    void testRebuild_LoadsSavedSearchRows() {
+        // Arrange
+        when(savedSearchRepository.streamPercolatorDocuments()).thenReturn(Stream.of(
+            new Object[]{10L, BUYER_ID, "dropship", Listing.ListingType.WEBSITE, null, null, false, null},
+            new Object[]{11L, BUYER_ID, "saas", null, null, null, false, null}));
+
+        // Act
+        percolator.rebuild();
+
+        // Assert
+        assertEquals(2, percolator.size());
+        assertEquals(List.of(10L), percolator.match(listing("Shopify Store", "Dropshipping business")));
+    }
+
+    private static Listing listing(String title, String description) {
+        User seller = new User();
+        seller.setId(SELLER_ID);
+        Category category = new Category();
+        category.setId(5L);
+        Listing listing = new Listing();
+        listing.setId(100L);
+        listing.setSeller(seller);
+        listing.setTitle(title);
+        listing.setDescription(description);
+        listing.setType(Listing.ListingType.WEBSITE);
+        listing.setCategory(category);
+        listing.setListingMode(Listing.ListingMode.NORMAL);
+        listing.setPrice(new BigDecimal("2500.00"));
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+        return listing;
+    }
+}
@@ -0,0 +1,140 @@
+package com.flippa.search;
+
+import com.flippa.dto.Suggestion;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex(listingRepository);
+        when(listingRepository.streamSuggestionDocuments(Listing.ListingStatus.ACTIVE)).thenReturn(Stream.of(
+            new Object[]{1L, "Shopify Store", false, false, 10L, "E-commerce", "Shopify"},
+            new Object[]{2L, "Pet Supplies Shop", true, false, 10L, "E-commerce", "shopify"},
+            new Object[]{3L, "Tech Blog", false, true, 11L, "Blogs", "WordPress"}));
+        index.rebuild();
+    }
+
+    @Test
+    void testSuggest_MatchesWordStartsByWeight() {
+        // Act
+        List<String> texts = texts(index.suggest("sho", 10));
+
+        // Assert - the featured listing and the two-listing platform outrank the plain title
+        assertEquals(List.of("Pet Supplies Shop", "Shopify", "Shopify Store"), texts);
+    }
+
+    @Test
+    void testSuggest_CarriesKindWeightAndLink() {
+        // Act
+        List<Suggestion> result = index.suggest("e-comm", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(Suggestion.Kind.CATEGORY, result.get(0).getKind());
+        assertEquals(2, result.get(0).getWeight());
+        assertEquals("/listings?category=10", result.get(0).getUrl());
+    }
+
+    @Test
+    void testSuggest_RespectsLimitAndIgnoresCase() {
+        assertEquals(List.of("Pet Supplies Shop"), texts(index.suggest("SHO", 1)));
+        assertEquals(List.of("Tech Blog"), texts(index.suggest("tech b", 5)));
+    }
+
+    @Test
+    void testSuggest_NoMatchOrBlankQuery() {
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest(null, 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_PrefixLongerThanTrieKeys() {
+        // Arrange
+        SuggestionTrie trie = new SuggestionTrie.Builder()
+            .add(new Suggestion("Profitable dropshipping store alpha", Suggestion.Kind.LISTING, 1, "/listings/1"))
+            .add(new Suggestion("Profitable dropshipping store beta", Suggestion.Kind.LISTING, 1, "/listings/2"))
+            .build();
+
+        // Act
+        List<String> texts = texts(trie.suggest("profitable dropshipping store b", 10));
+
+        // Assert
+        assertEquals(List.of("Profitable dropshipping store beta"), texts);
+    }
+
+    @Test
+    void testSuggest_EncodesPlatformLink() {
+        // Arrange
+        when(listingRepository.streamSuggestionDocuments(Listing.ListingStatus.ACTIVE))
+            .thenReturn(Stream.<Object[]>of(new Object[]{5L, "Bakery", false, false, null, null, "Café & Shop"}));
+        index.rebuild();
+
+        // Act
+        List<Suggestion> result = index.suggest("café", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("/listings?search=caf%C3%A9+shop", result.get(0).getUrl());
+    }
+
+    @Test
+    void testBuild_KeepsTopRankedAmongSharedKeys() {
+        // Arrange
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder();
+        for (int i = 0; i < 5_000; i++) {
+            builder.add(new Suggestion("Store " + i, Suggestion.Kind.LISTING, i % 100, "/listings/" + i));
+        }
+
+        // Act
+        List<Suggestion> result = builder.build().suggest("store", SuggestionTrie.TOP_K);
+
+        // Assert
+        assertEquals(SuggestionTrie.TOP_K, result.size());
+        assertTrue(result.stream().allMatch(s -> s.getWeight() == 99));
+        assertEquals("Store 1099", result.get(0).getText());
+    }
+
+    @Test
+    void testRefreshIfStale_RebuildsOnlyAfterWrite() {
+        // Arrange
+        when(listingRepository.streamSuggestionDocuments(Listing.ListingStatus.ACTIVE))
+            .thenReturn(Stream.<Object[]>of(new Object[]{4L, "Domain Portfolio", false, false, null, null, null}));
+
+        // Act
+        index.refreshIfStale();
+        List<Suggestion> beforeWrite = index.suggest("domain", 10);
+        index.markStale();
+        index.refreshIfStale();
+
+        // Assert
+        assertTrue(beforeWrite.isEmpty());
+        assertEquals(List.of("Domain Portfolio"), texts(index.suggest("domain", 10)));
+        assertTrue(index.suggest("shopify", 10).isEmpty());
+        verify(listingRepository, times(2)).streamSuggestionDocuments(Listing.ListingStatus.ACTIVE);
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+}
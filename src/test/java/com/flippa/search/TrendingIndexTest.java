@@ -0,0 +1,137 @@
+package com.flippa.search;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingIndexTest {
+
+    private static final long HOUR = 60 * 60_000L;
+    private static final long START = 1_000 * HOUR;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private TrendingIndex trendingIndex;
+
+    @BeforeEach
+    void setUp() {
+        trendingIndex = new TrendingIndex(listingRepository);
+    }
+
+    @Test
+    void testRecord_RanksByWeightedScoreAsEventsArrive() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            trendingIndex.record(1L, TrendingIndex.VIEW_WEIGHT, START);
+        }
+        trendingIndex.record(2L, TrendingIndex.VIEW_WEIGHT, START);
+
+        // Act
+        trendingIndex.record(3L, TrendingIndex.ESCROW_WEIGHT, START);
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), trendingIndex.leaderIds(TrendingIndex.Window.HOUR));
+        assertEquals(List.of(3L, 1L, 2L), trendingIndex.leaderIds(TrendingIndex.Window.WEEK));
+    }
+
+    @Test
+    void testRefresh_ExpiresBucketsPerWindow() {
+        // Arrange
+        trendingIndex.record(1L, TrendingIndex.ESCROW_WEIGHT, START);
+        trendingIndex.record(2L, TrendingIndex.VIEW_WEIGHT, START + 3 * HOUR);
+        when(listingRepository.findCardsByIdIn(anyCollection(), eq(Listing.ListingStatus.ACTIVE)))
+            .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream().map(this::card).toList());
+
+        // Act
+        trendingIndex.refresh(START + 3 * HOUR + 1);
+
+        // Assert
+        assertEquals(List.of(2L), trendingIndex.leaderIds(TrendingIndex.Window.HOUR));
+        assertEquals(List.of(1L, 2L), trendingIndex.leaderIds(TrendingIndex.Window.DAY));
+    }
+
+    @Test
+    void testRefresh_EvictsListingsIdleForAWeekAndLoadsLeaderCards() {
+        // Arrange
+        trendingIndex.record(1L, TrendingIndex.VIEW_WEIGHT, START);
+        trendingIndex.record(2L, TrendingIndex.VIEW_WEIGHT, START + 7 * 24 * HOUR);
+        when(listingRepository.findCardsByIdIn(anyCollection(), eq(Listing.ListingStatus.ACTIVE)))
+            .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream().map(this::card).toList());
+
+        // Act
+        trendingIndex.refresh(START + 7 * 24 * HOUR + 1);
+
+        // Assert
+        assertEquals(1, trendingIndex.trackedCount());
+        assertEquals(List.of(2L), trendingIndex.getTrending(TrendingIndex.Window.WEEK).stream()
+            .map(ListingCard::getId).toList());
+        verify(listingRepository).findCardsByIdIn(eq(Set.of(2L)), eq(Listing.ListingStatus.ACTIVE));
+    }
+
+    @Test
+    void testRefresh_ReplacesLeadersThatAreNoLongerActive() {
+        // Arrange - listings 1..TOP_K+2 by rising score; the two hottest have since been sold
+        for (long id = 1; id <= TrendingIndex.TOP_K + 2; id++) {
+            for (int views = 0; views < id; views++) {
+                trendingIndex.record(id, TrendingIndex.VIEW_WEIGHT, START);
+            }
+        }
+        Set<Long> sold = Set.of(TrendingIndex.TOP_K + 1L, TrendingIndex.TOP_K + 2L);
+        when(listingRepository.findCardsByIdIn(anyCollection(), eq(Listing.ListingStatus.ACTIVE)))
+            .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                .filter(id -> !sold.contains(id)).map(this::card).toList());
+
+        // Act
+        trendingIndex.refresh(START + 1);
+
+        // Assert
+        List<Long> trending = trendingIndex.getTrending(TrendingIndex.Window.DAY).stream()
+            .map(ListingCard::getId).toList();
+        assertEquals(TrendingIndex.TOP_K, trending.size());
+        assertEquals((long) TrendingIndex.TOP_K, trending.get(0));
+        assertEquals(1L, trending.get(TrendingIndex.TOP_K - 1));
+        assertEquals(TrendingIndex.TOP_K, trendingIndex.trackedCount());
+    }
+
+    @Test
+    void testRecord_KeepsOnlyTopK() {
+        // Arrange
+        for (long id = 1; id <= TrendingIndex.TOP_K + 5; id++) {
+            for (int views = 0; views < id; views++) {
+                trendingIndex.record(id, TrendingIndex.VIEW_WEIGHT, START);
+            }
+        }
+
+        // Act
+        List<Long> leaders = trendingIndex.leaderIds(TrendingIndex.Window.DAY);
+
+        // Assert
+        assertEquals(TrendingIndex.TOP_K, leaders.size());
+        assertEquals(TrendingIndex.TOP_K + 5L, leaders.get(0));
+        assertEquals(6L, leaders.get(TrendingIndex.TOP_K - 1));
+        assertTrue(trendingIndex.getTrending(TrendingIndex.Window.DAY).isEmpty());
+    }
+
+    private ListingCard card(Long id) {
+        return new ListingCard(id, "Listing " + id, "Summary", Listing.ListingType.WEBSITE, Listing.ListingMode.NORMAL,
+                               new BigDecimal("1000.00"), null, false, false, "Blogs", null, null,
+                               LocalDateTime.now(), null);
+    }
+}
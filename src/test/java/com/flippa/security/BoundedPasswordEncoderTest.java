@@ -0,0 +1,107 @@
+package com.flippa.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch running = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void testMatches_DelegatesOnPoolThread() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(false), 1, 1, 1000);
+
+        // Act & Assert
+        assertEquals("encoded:password-hash-1", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "encoded:secret"));
+        assertFalse(encoder.matches("secret", "encoded:other"));
+        assertEquals(3, encoder.getCompletedCount());
+        assertEquals(0, encoder.getRejectedCount());
+    }
+
+    @Test
+    void testMatches_RejectsImmediatelyWhenQueueIsFull() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(true), 1, 1, 5000);
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        waitForQueueDepth(1);
+
+        // Act
+        long start = System.nanoTime();
+        AuthenticationServiceException e = assertThrows(AuthenticationServiceException.class,
+            () -> encoder.matches("secret", "encoded:secret"));
+
+        // Assert
+        assertEquals(BoundedPasswordEncoder.BUSY_MESSAGE, e.getMessage());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1, encoder.getRejectedCount());
+    }
+
+    @Test
+    void testMatches_GivesUpAfterMaxWait() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(true), 1, 4, 100);
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        running.await(5, TimeUnit.SECONDS);
+
+        // Act & Assert
+        assertThrows(AuthenticationServiceException.class, () -> encoder.matches("secret", "encoded:secret"));
+        assertEquals(0, encoder.getQueueDepth());
+        assertEquals(1, encoder.getActiveCount());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 500 && encoder.getQueueDepth() < depth; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(depth, encoder.getQueueDepth());
+    }
+
+    private class RecordingEncoder implements PasswordEncoder {
+
+        private final boolean block;
+
+        RecordingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            running.countDown();
+            if (block) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "encoded:" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("encoded:" + rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.flippa.security;
+
+import com.flippa.entity.Role;
+import com.flippa.entity.User;
+import com.flippa.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CurrentUserArgumentResolver resolver;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CurrentUserArgumentResolver(userRepository);
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("seller@example.com");
+        user.setPassword("hash");
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setRoles(Set.of(role(Role.RoleType.ROLE_USER, true), role(Role.RoleType.ROLE_SELLER, true),
+                             role(Role.RoleType.ROLE_ADMIN, false)));
+        user.syncRoleMask();
+        principal = UserPrincipal.from(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testFrom_CapturesIdentityAndEnabledRoles() {
+        // Assert
+        assertEquals(7L, principal.getId());
+        assertEquals("seller@example.com", principal.getUsername());
+        assertEquals(Role.RoleType.ROLE_USER.getBit() | Role.RoleType.ROLE_SELLER.getBit(), principal.getRoleMask());
+        assertTrue(principal.hasRole(Role.RoleType.ROLE_SELLER));
+        assertFalse(principal.hasRole(Role.RoleType.ROLE_ADMIN));
+        assertEquals(Set.of("ROLE_USER", "ROLE_SELLER"), principal.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testResolveArgument_ReturnsPrincipalAndUserReferenceWithoutLoadingUser() throws Exception {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        User reference = new User();
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        // Act
+        Object resolvedPrincipal = resolver.resolveArgument(parameter(0), null, null, null);
+        Object resolvedUser = resolver.resolveArgument(parameter(1), null, null, null);
+
+        // Assert
+        assertSame(principal, resolvedPrincipal);
+        assertSame(reference, resolvedUser);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testResolveArgument_ReturnsNullWhenSignedOut() throws Exception {
+        // Act & Assert
+        assertTrue(resolver.supportsParameter(parameter(1)));
+        assertFalse(resolver.supportsParameter(parameter(2)));
+        assertNull(resolver.resolveArgument(parameter(1), null, null, null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser UserPrincipal principal, @CurrentUser User user, User unannotated) {
+    }
+
+    private static MethodParameter parameter(int index) throws NoSuchMethodException {
+        Method method = CurrentUserArgumentResolverTest.class.getDeclaredMethod("handler",
+            UserPrincipal.class, User.class, User.class);
+        return new MethodParameter(method, index);
+    }
+
+    private static Role role(Role.RoleType type, boolean enabled) {
+        Role role = new Role();
+        role.setName(type);
+        role.setEnabled(enabled);
+        return role;
+    }
+}
@@ -0,0 +1,97 @@
+package com.flippa.security;
+
+import com.flippa.entity.Role;
+import jakarta.servlet.http.Cookie;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-thirty-two-bytes-long";
+
+    private final JwtTokenService jwtTokenService = new JwtTokenService(SECRET, 60_000, true);
+    private final UserPrincipal principal = new UserPrincipal(7L, "seller@example.com", "hash", "Sam Seller",
+        Role.RoleType.ROLE_USER.getBit() | Role.RoleType.ROLE_SELLER.getBit());
+
+    @Test
+    void testParse_RestoresPrincipalFromIssuedToken() {
+        // Act
+        UserPrincipal parsed = jwtTokenService.parse(jwtTokenService.issue(principal));
+
+        // Assert
+        assertNotNull(parsed);
+        assertEquals(7L, parsed.getId());
+        assertEquals("seller@example.com", parsed.getUsername());
+        assertEquals("Sam Seller", parsed.getDisplayName());
+        assertEquals(principal.getRoleMask(), parsed.getRoleMask());
+        assertEquals(principal.getAuthorities(), parsed.getAuthorities());
+        assertNull(parsed.getPassword());
+    }
+
+    @Test
+    void testParse_RejectsTamperedForeignAndExpiredTokens() {
+        // Arrange
+        String token = jwtTokenService.issue(principal);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        JwtTokenService otherKey = new JwtTokenService(SECRET.replace('t', 'x'), 60_000, true);
+        JwtTokenService expired = new JwtTokenService(SECRET, -1_000, true);
+
+        // Act & Assert
+        assertNull(jwtTokenService.parse(tampered));
+        assertNull(jwtTokenService.parse(otherKey.issue(principal)));
+        assertNull(jwtTokenService.parse(expired.issue(principal)));
+        assertNull(jwtTokenService.parse("not-a-token"));
+    }
+
+    @Test
+    void testParse_RejectsTokenWithoutRoleClaim() {
+        // Arrange
+        String token = Jwts.builder()
+            .subject("7")
+            .claim("email", "seller@example.com")
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        // Act & Assert
+        assertNull(jwtTokenService.parse(token));
+    }
+
+    @Test
+    void testConstructor_RefusesStatelessModeWithoutPrivateSecret() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new JwtTokenService("", 60_000, true));
+        assertThrows(IllegalStateException.class, () -> new JwtTokenService(null, 60_000, true));
+        assertThrows(IllegalStateException.class, () -> new JwtTokenService("too-short", 60_000, true));
+        assertThrows(IllegalStateException.class,
+            () -> new JwtTokenService(JwtTokenService.PLACEHOLDER_SECRET, 60_000, true));
+
+        JwtTokenService sessionMode = new JwtTokenService(JwtTokenService.PLACEHOLDER_SECRET, 60_000, false);
+        String forged = Jwts.builder()
+            .subject("1")
+            .claim("roles", Role.RoleType.ROLE_SUPER_ADMIN.getBit())
+            .signWith(Keys.hmacShaKeyFor(JwtTokenService.PLACEHOLDER_SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        assertNull(sessionMode.parse(forged));
+    }
+
+    @Test
+    void testResolveToken_PrefersBearerHeaderOverCookie() {
+        // Arrange
+        ResponseCookie cookie = jwtTokenService.createCookie(principal, true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(JwtTokenService.COOKIE_NAME, cookie.getValue()));
+
+        // Act & Assert
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(cookie.getValue(), JwtAuthenticationFilter.resolveToken(request));
+        request.addHeader("Authorization", "Bearer header-token");
+        assertEquals("header-token", JwtAuthenticationFilter.resolveToken(request));
+    }
+}
@@ -0,0 +1,75 @@
+package com.flippa.security;
+
+import com.flippa.entity.Role;
+import com.flippa.entity.User;
+import com.flippa.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private Permissions permissions;
+
+    @BeforeEach
+    void setUp() {
+        permissions = new Permissions(userRepository);
+    }
+
+    @Test
+    void testIsAdmin_MatchesAdminAndSuperAdminBits() {
+        // Act & Assert
+        assertTrue(Permissions.isAdmin(Role.RoleType.ROLE_ADMIN.getBit()));
+        assertTrue(Permissions.isAdmin(Role.RoleType.ROLE_USER.getBit() | Role.RoleType.ROLE_SUPER_ADMIN.getBit()));
+        assertFalse(Permissions.isAdmin(Role.RoleType.ROLE_USER.getBit() | Role.RoleType.ROLE_SELLER.getBit()
+                                        | Role.RoleType.ROLE_BUYER.getBit()));
+    }
+
+    @Test
+    void testIsOwnerOrAdmin_ReadsStoredMaskOnlyForNonOwners() {
+        // Arrange
+        when(userRepository.findRoleMaskById(1L)).thenReturn(Optional.of(Role.RoleType.ROLE_ADMIN.getBit()));
+        when(userRepository.findRoleMaskById(2L)).thenReturn(Optional.of(Role.RoleType.ROLE_SELLER.getBit()));
+
+        // Act & Assert
+        assertTrue(permissions.isOwnerOrAdmin(reference(1L), 2L));
+        assertTrue(permissions.isOwnerOrAdmin(reference(2L), 2L));
+        assertFalse(permissions.isOwnerOrAdmin(reference(2L), 3L));
+        verify(userRepository, times(1)).findRoleMaskById(2L);
+    }
+
+    @Test
+    void testIsAdmin_SeesDemotionBeforeThePrincipalDoes() {
+        // Arrange - the signed-in principal still carries the admin mask from login
+        UserPrincipal principal = new UserPrincipal(1L, "admin@flippa.com", null, "Admin User",
+                                                    Role.RoleType.ROLE_SUPER_ADMIN.getBit());
+        User user = reference(principal.getId());
+        user.setRoleMask(principal.getRoleMask());
+        when(userRepository.findRoleMaskById(1L))
+            .thenReturn(Optional.of(Role.RoleType.ROLE_SUPER_ADMIN.getBit()))
+            .thenReturn(Optional.of(Role.RoleType.ROLE_USER.getBit()));
+
+        // Act & Assert
+        assertTrue(permissions.isAdmin(user));
+        assertFalse(permissions.isAdmin(user));
+        assertFalse(permissions.isAdmin(reference(99L)));
+    }
+
+    private static User reference(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setRoleMask(null);
+        return user;
+    }
+}
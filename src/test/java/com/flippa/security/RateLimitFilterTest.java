@@ -0,0 +1,116 @@
+package com.flippa.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Group login = new RateLimitProperties.Group();
+        login.setPaths(List.of("/login"));
+        login.setMethods(List.of("POST"));
+        login.setCapacity(10);
+        login.setRefillPerMinute(10);
+        login.setAccountParam("username");
+        login.setAccountCapacity(2);
+        login.setAccountRefillPerMinute(1);
+        properties.getGroups().put("login", login);
+
+        RateLimitProperties.Group search = new RateLimitProperties.Group();
+        search.setPaths(List.of("/listings", "/api/v1/listings"));
+        search.setRequiredParam("search");
+        search.setCapacity(1);
+        search.setRefillPerMinute(60);
+        properties.getGroups().put("search", search);
+
+        RateLimitProperties.Group suggest = new RateLimitProperties.Group();
+        suggest.setPaths(List.of("/api/suggest"));
+        suggest.setMethods(List.of("GET"));
+        suggest.setCapacity(2);
+        suggest.setRefillPerMinute(60);
+        properties.getGroups().put("suggest", suggest);
+
+        filter = new RateLimitFilter(properties);
+    }
+
+    @Test
+    void testDoFilter_LimitsAccountAcrossClientAddresses() throws Exception {
+        // Act
+        MockHttpServletResponse first = send(login("10.0.0.1", "Victim@Example.com"));
+        MockHttpServletResponse second = send(login("10.0.0.2", "victim@example.com"));
+        MockHttpServletResponse third = send(login("10.0.0.3", "victim@example.com"));
+        MockHttpServletResponse otherAccount = send(login("10.0.0.3", "someone@example.com"));
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("60", third.getHeader("Retry-After"));
+        assertEquals(200, otherAccount.getStatus());
+    }
+
+    @Test
+    void testDoFilter_OnlyThrottlesListingsWhenSearching() throws Exception {
+        // Arrange
+        MockHttpServletRequest browse = new MockHttpServletRequest("GET", "/listings");
+        MockHttpServletRequest search = new MockHttpServletRequest("GET", "/listings");
+        search.setParameter("search", "shopify");
+
+        // Act & Assert
+        assertNull(filter.groupFor(browse, "/listings"));
+        assertEquals(200, send(search).getStatus());
+        MockHttpServletResponse limited = send(search);
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader("Retry-After"));
+        assertEquals(200, send(browse).getStatus());
+        assertNull(filter.groupFor(new MockHttpServletRequest("GET", "/login"), "/login"));
+    }
+
+    @Test
+    void testDoFilter_ThrottlesApiSearchWithPageSearchAndSuggestSeparately() throws Exception {
+        // Arrange
+        MockHttpServletRequest apiBrowse = new MockHttpServletRequest("GET", "/api/v1/listings");
+        MockHttpServletRequest apiSearch = new MockHttpServletRequest("GET", "/api/v1/listings");
+        apiSearch.setParameter("search", "shopify");
+        MockHttpServletRequest pageSearch = new MockHttpServletRequest("GET", "/listings");
+        pageSearch.setParameter("search", "shopify");
+        MockHttpServletRequest suggest = new MockHttpServletRequest("GET", "/api/suggest");
+        suggest.setParameter("q", "sho");
+
+        // Act & Assert - the API and the page draw on one search bucket per client
+        assertNull(filter.groupFor(apiBrowse, "/api/v1/listings"));
+        assertEquals("search", filter.groupFor(apiSearch, "/api/v1/listings").getKey());
+        assertEquals(200, send(apiSearch).getStatus());
+        assertEquals(429, send(pageSearch).getStatus());
+        assertEquals(429, send(apiSearch).getStatus());
+        assertEquals(200, send(apiBrowse).getStatus());
+
+        assertEquals(200, send(suggest).getStatus());
+        assertEquals(200, send(suggest).getStatus());
+        assertEquals(429, send(suggest).getStatus());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest login(String clientIp, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(clientIp);
+        request.setParameter("username", username);
+        return request;
+    }
+}
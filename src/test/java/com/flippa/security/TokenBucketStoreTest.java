@@ -0,0 +1,62 @@
+package com.flippa.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+    @Test
+    void testTryConsume_AllowsBurstThenReportsWaitUntilRefill() {
+        // Arrange
+        TokenBucketStore store = new TokenBucketStore(100, clock::get);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryConsume("ip|1.2.3.4", 3, SECOND));
+        }
+        assertEquals(SECOND, store.tryConsume("ip|1.2.3.4", 3, SECOND));
+        assertEquals(0, store.tryConsume("ip|5.6.7.8", 3, SECOND));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(SECOND / 2, store.tryConsume("ip|1.2.3.4", 3, SECOND));
+        clock.addAndGet(SECOND / 2);
+        assertEquals(0, store.tryConsume("ip|1.2.3.4", 3, SECOND));
+        assertTrue(store.tryConsume("ip|1.2.3.4", 3, SECOND) > 0);
+    }
+
+    @Test
+    void testTryConsume_IdleBucketRefillsOnlyToCapacity() {
+        // Arrange
+        TokenBucketStore store = new TokenBucketStore(100, clock::get);
+        store.tryConsume("key", 2, SECOND);
+
+        // Act
+        clock.addAndGet(3600 * SECOND);
+
+        // Assert
+        assertEquals(0, store.tryConsume("key", 2, SECOND));
+        assertEquals(0, store.tryConsume("key", 2, SECOND));
+        assertTrue(store.tryConsume("key", 2, SECOND) > 0);
+    }
+
+    @Test
+    void testTryConsume_StaysBoundedUnderKeyChurn() {
+        // Arrange
+        TokenBucketStore store = new TokenBucketStore(TokenBucketStore.STRIPES * 8, clock::get);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            store.tryConsume("ip|" + i, 5, SECOND);
+        }
+
+        // Assert
+        assertTrue(store.size() <= TokenBucketStore.STRIPES * 8, "size was " + store.size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.flippa.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flippa.dto.ExportFormat;
+import com.flippa.entity.Escrow;
+import com.flippa.entity.Listing;
+import com.flippa.entity.Payment;
+import com.flippa.entity.User;
+import com.flippa.repository.EscrowRepository;
+import com.flippa.repository.ListingRepository;
+import com.flippa.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminExportServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private EscrowRepository escrowRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AdminExportService adminExportService;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        adminExportService = new AdminExportService(listingRepository, escrowRepository, paymentRepository,
+                                                    entityManager, objectMapper);
+        seller = new User();
+        seller.setId(1L);
+    }
+
+    @Test
+    void testExportListings_CsvQuotesFieldsAndDetachesRows() {
+        // Arrange
+        Listing listing = listing(7L, "Store, \"Premium\"");
+        when(listingRepository.streamForExport()).thenReturn(Stream.<Object[]>of(
+            new Object[]{listing, "seller@example.com", "E-commerce"}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = assertDoesNotThrow(() -> adminExportService.export(
+            AdminExportService.Dataset.LISTINGS, ExportFormat.CSV, out));
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, rows);
+        assertEquals(String.join(",", AdminExportService.LISTING_COLUMNS), lines[0]);
+        assertTrue(lines[1].startsWith("7,\"Store, \"\"Premium\"\"\",WEBSITE,ACTIVE,NORMAL,1500.00,,E-commerce,1,seller@example.com,"));
+        verify(entityManager).detach(listing);
+    }
+
+    @Test
+    void testExportPayments_NdjsonWritesOneObjectPerLine() throws Exception {
+        // Arrange
+        Escrow escrow = new Escrow();
+        escrow.setId(3L);
+        Payment first = payment(1L, escrow, "10.50");
+        Payment second = payment(2L, escrow, "20.00");
+        when(paymentRepository.streamForExport()).thenReturn(Stream.of(
+            new Object[]{first, "buyer@example.com"}, new Object[]{second, "buyer@example.com"}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        adminExportService.export(AdminExportService.Dataset.PAYMENTS, ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals(2, lines.length);
+        JsonNode row = objectMapper.readTree(lines[1]);
+        assertEquals(2, row.get("id").asLong());
+        assertEquals(3, row.get("escrow_id").asLong());
+        assertEquals("buyer@example.com", row.get("user_email").asText());
+        assertTrue(lines[1].contains("\"amount\":20.00"));
+        assertTrue(row.get("completed_at").isNull());
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    void testEscape_DefusesSpreadsheetFormulas() {
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", AdminExportService.escape("=HYPERLINK(\"x\")"));
+        assertEquals("'@SUM(A1)", AdminExportService.escape("@SUM(A1)"));
+        assertEquals("-5", AdminExportService.escape(new BigDecimal("-5")));
+        assertEquals("plain", AdminExportService.escape("plain"));
+    }
+
+    private Listing listing(Long id, String title) {
+        Listing listing = new Listing();
+        listing.setId(id);
+        listing.setTitle(title);
+        listing.setType(Listing.ListingType.WEBSITE);
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+        listing.setPrice(new BigDecimal("1500.00"));
+        listing.setSeller(seller);
+        return listing;
+    }
+
+    private Payment payment(Long id, Escrow escrow, String amount) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setEscrow(escrow);
+        payment.setUser(seller);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setGateway(Payment.PaymentGateway.PAYPAL);
+        return payment;
+    }
+}
@@ -6,6 +6,8 @@ import com.flippa.entity.User;
 import com.flippa.repository.EscrowRepository;
 import com.flippa.repository.ListingRepository;
 import com.flippa.repository.UserRepository;
+import com.flippa.search.TrendingIndex;
+import com.flippa.security.Permissions;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -42,6 +45,15 @@ class EscrowServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Permissions permissions;
+
     @Mock
     private HttpServletRequest request;
 
@@ -99,6 +111,7 @@ class EscrowServiceTest {
         assertEquals(new BigDecimal("1000.00"), result.getAmount());
         verify(escrowRepository, times(1)).save(any(Escrow.class));
         verify(auditLogService, times(1)).logAction(eq(buyer), eq("ESCROW_CREATED"), anyString(), anyString(), anyString(), any());
+        verify(trendingIndex).recordEscrowStart(1L);
     }
 
     @Test
@@ -256,6 +269,7 @@ class EscrowServiceTest {
         when(escrowRepository.findById(1L)).thenReturn(Optional.of(escrow));
         when(listingRepository.save(any(Listing.class))).thenReturn(listing);
         when(escrowRepository.save(any(Escrow.class))).thenReturn(escrow);
+        when(permissions.isOwnerOrAdmin(seller, seller.getId())).thenReturn(true);
 
         // Act
         escrowService.completeTransfer(1L, seller, request);
@@ -266,6 +280,7 @@ class EscrowServiceTest {
         verify(listingRepository, times(1)).save(listing);
         verify(escrowRepository, times(1)).save(escrow);
         verify(auditLogService, times(1)).logAction(eq(seller), eq("ESCROW_TRANSFER_COMPLETED"), anyString(), anyString(), anyString(), any());
+        verify(eventPublisher, times(1)).publishEvent(new ListingChangedEvent(listing));
     }
 
     @Test
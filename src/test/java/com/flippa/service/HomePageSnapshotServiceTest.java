@@ -0,0 +1,115 @@
+package com.flippa.service;
+
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingFilter;
+import com.flippa.entity.Listing;
+import com.flippa.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomePageSnapshotServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @InjectMocks
+    private HomePageSnapshotService homePageSnapshotService;
+
+    private ListingCard card;
+
+    @BeforeEach
+    void setUp() {
+        card = new ListingCard(1L, "Shopify Store", "Summary", Listing.ListingType.ECOMMERCE_STORE,
+                               Listing.ListingMode.NORMAL, new BigDecimal("100.00"), null, false, true,
+                               null, null, null, LocalDateTime.now(), null);
+        when(listingRepository.findFeaturedCards(eq(Listing.ListingStatus.ACTIVE), any()))
+            .thenReturn(Arrays.asList(card));
+        when(listingRepository.findPageByNewest(eq(Listing.ListingStatus.ACTIVE), any(ListingFilter.class),
+                                                any(LocalDateTime.class), eq(Long.MAX_VALUE), any()))
+            .thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void testGetSnapshot_BuildsOnceThenServesFromMemory() {
+        // Act
+        HomePageSnapshotService.Snapshot first = homePageSnapshotService.getSnapshot();
+        HomePageSnapshotService.Snapshot second = homePageSnapshotService.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(Arrays.asList(card), first.getFeatured());
+        verify(listingRepository, times(1)).findFeaturedCards(any(), any());
+    }
+
+    @Test
+    void testInvalidate_NextReadRebuilds() {
+        // Arrange
+        HomePageSnapshotService.Snapshot first = homePageSnapshotService.getSnapshot();
+
+        // Act
+        homePageSnapshotService.invalidate();
+        HomePageSnapshotService.Snapshot second = homePageSnapshotService.getSnapshot();
+
+        // Assert
+        assertNotSame(first, second);
+        verify(listingRepository, times(2)).findFeaturedCards(any(), any());
+    }
+
+    @Test
+    void testRefresh_SwapsSnapshot() {
+        // Arrange
+        HomePageSnapshotService.Snapshot first = homePageSnapshotService.getSnapshot();
+
+        // Act
+        homePageSnapshotService.refresh();
+
+        // Assert
+        assertNotSame(first, homePageSnapshotService.getSnapshot());
+        verify(listingRepository, times(2)).findFeaturedCards(any(), any());
+    }
+
+    @Test
+    void testGetSnapshot_ServesStaleSnapshotWhileAnotherReaderRebuilds() throws Exception {
+        // Arrange
+        HomePageSnapshotService.Snapshot first = homePageSnapshotService.getSnapshot();
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(listingRepository.findFeaturedCards(eq(Listing.ListingStatus.ACTIVE), any())).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Arrays.asList(card);
+        });
+        homePageSnapshotService.invalidate();
+        CompletableFuture<HomePageSnapshotService.Snapshot> rebuilder =
+            CompletableFuture.supplyAsync(homePageSnapshotService::getSnapshot);
+        assertTrue(rebuilding.await(5, TimeUnit.SECONDS));
+
+        // Act
+        HomePageSnapshotService.Snapshot duringRebuild = homePageSnapshotService.getSnapshot();
+        release.countDown();
+        HomePageSnapshotService.Snapshot rebuilt = rebuilder.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(first, duringRebuild);
+        assertNotSame(first, rebuilt);
+        assertSame(rebuilt, homePageSnapshotService.getSnapshot());
+        verify(listingRepository, times(2)).findFeaturedCards(any(), any());
+    }
+}
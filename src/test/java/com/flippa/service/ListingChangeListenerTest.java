@@ -0,0 +1,77 @@
+package com.flippa.service;
+
+import com.flippa.entity.Listing;
+import com.flippa.search.ListingFacetIndex;
+import com.flippa.search.ListingPriceIndex;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.ListingTrigramIndex;
+import com.flippa.search.SuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingChangeListenerTest {
+
+    @Mock
+    private ListingSearchIndex listingSearchIndex;
+
+    @Mock
+    private ListingTrigramIndex listingTrigramIndex;
+
+    @Mock
+    private ListingFacetIndex listingFacetIndex;
+
+    @Mock
+    private ListingPriceIndex listingPriceIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private HomePageSnapshotService homePageSnapshotService;
+
+    @InjectMocks
+    private ListingChangeListener listingChangeListener;
+
+    private Listing listing;
+
+    @BeforeEach
+    void setUp() {
+        listing = new Listing();
+        listing.setId(1L);
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+    }
+
+    @Test
+    void testOnListingChanged_UpdatesEveryIndex() {
+        // Act
+        listingChangeListener.onListingChanged(new ListingChangedEvent(listing));
+
+        // Assert
+        verify(listingSearchIndex).update(listing);
+        verify(listingTrigramIndex).update(listing);
+        verify(listingFacetIndex).update(listing);
+        verify(listingPriceIndex).update(listing);
+        verify(suggestionIndex).markStale();
+        verify(homePageSnapshotService).invalidate();
+    }
+
+    @Test
+    void testOnListingChanged_IndexFailureStillInvalidatesSnapshot() {
+        // Arrange
+        doThrow(new IllegalStateException("index broken")).when(listingTrigramIndex).update(listing);
+
+        // Act
+        listingChangeListener.onListingChanged(new ListingChangedEvent(listing));
+
+        // Assert
+        verify(suggestionIndex).markStale();
+        verify(homePageSnapshotService).invalidate();
+    }
+}
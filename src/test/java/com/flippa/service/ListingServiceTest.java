@@ -1,10 +1,21 @@
 package com.flippa.service;
 
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingCursor;
 import com.flippa.dto.ListingDTO;
+import com.flippa.dto.ListingFilter;
+import com.flippa.dto.ListingSort;
+import com.flippa.dto.PriceBucket;
 import com.flippa.entity.Listing;
 import com.flippa.entity.User;
 import com.flippa.repository.ListingRepository;
 import com.flippa.repository.WebsiteInfoRepository;
+import com.flippa.search.ListingFacetIndex;
+import com.flippa.search.ListingPriceIndex;
+import com.flippa.search.ListingSearchIndex;
+import com.flippa.search.ListingTrigramIndex;
+import com.flippa.security.Permissions;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,11 +23,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +58,30 @@ class ListingServiceTest {
     @Mock
     private AdminService adminService;
 
+    @Mock
+    private ListingSearchIndex listingSearchIndex;
+
+    @Mock
+    private ListingFacetIndex listingFacetIndex;
+
+    @Mock
+    private ListingPriceIndex listingPriceIndex;
+
+    @Mock
+    private ListingTrigramIndex listingTrigramIndex;
+
+    @Mock
+    private HomePageSnapshotService homePageSnapshotService;
+
+    @Mock
+    private SavedSearchService savedSearchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Permissions permissions;
+
     @Mock
     private HttpServletRequest request;
 
@@ -163,15 +204,232 @@ class ListingServiceTest {
     @Test
     void testSearchListings() {
         // Arrange
-        List<Listing> searchResults = Arrays.asList(listing);
-        when(listingRepository.searchListings("test", Listing.ListingStatus.ACTIVE)).thenReturn(searchResults);
+        when(listingSearchIndex.search(eq("test"), anyInt())).thenReturn(Arrays.asList(2L, 1L));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(2L, 1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now()), card(2L, LocalDateTime.now())));
 
         // Act
-        List<Listing> result = listingService.searchListings("test");
+        List<ListingCard> result = listingService.searchListings("test");
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        verify(listingRepository).findCardsByIdIn(any(), eq(Listing.ListingStatus.ACTIVE));
+        verifyNoMoreInteractions(listingRepository);
+    }
+
+    @Test
+    void testSearchListings_SkipsListingsNoLongerActive() {
+        // Arrange
+        when(listingSearchIndex.search(eq("test"), anyInt())).thenReturn(Arrays.asList(1L));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(new ArrayList<>());
+
+        // Act
+        List<ListingCard> result = listingService.searchListings("test");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testSearchListings_FallsBackToTrigramMatches() {
+        // Arrange
+        when(listingSearchIndex.search(eq("shopfy store"), anyInt())).thenReturn(Arrays.asList(4L));
+        when(listingTrigramIndex.search(eq("shopfy store"), anyInt())).thenReturn(Arrays.asList(4L, 7L));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(4L, 7L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(7L, LocalDateTime.now()), card(4L, LocalDateTime.now())));
+
+        // Act
+        List<ListingCard> result = listingService.searchListings("shopfy store");
+
+        // Assert - exact hits stay first, fuzzy hits are not duplicated
+        assertEquals(Arrays.asList(4L, 7L), result.stream().map(ListingCard::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testBrowseActiveListings_FirstPageHasNextCursor() {
+        // Arrange
+        List<ListingCard> rows = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long id = 100; id > 100 - ListingService.BROWSE_PAGE_SIZE - 1; id--) {
+            rows.add(card(id, createdAt.minusMinutes(100 - id)));
+        }
+        when(homePageSnapshotService.getSnapshot())
+            .thenReturn(new HomePageSnapshotService.Snapshot(Collections.emptyList(), rows, LocalDateTime.now()));
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.NEWEST, null, new ListingFilter());
+
+        // Assert
+        assertEquals(ListingService.BROWSE_PAGE_SIZE, page.getItems().size());
+        assertTrue(page.hasNext());
+        ListingCard last = page.getItems().get(page.getItems().size() - 1);
+        ListingCursor cursor = ListingCursor.decode(page.getNextCursor(), ListingSort.NEWEST);
+        assertNotNull(cursor);
+        assertEquals(last.getId(), cursor.getId());
+        assertEquals(last.getCreatedAt().toString(), cursor.getKey());
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    void testGetNewestListingCards_ServedFromSnapshot() {
+        // Arrange
+        List<ListingCard> rows = new ArrayList<>();
+        for (long id = 20; id > 0; id--) {
+            rows.add(card(id, LocalDateTime.now()));
+        }
+        when(homePageSnapshotService.getSnapshot())
+            .thenReturn(new HomePageSnapshotService.Snapshot(Collections.emptyList(), rows, LocalDateTime.now()));
+
+        // Act
+        List<ListingCard> result = listingService.getNewestListingCards();
+
+        // Assert
+        assertEquals(ListingService.HOME_SECTION_LIMIT, result.size());
+        assertEquals(20L, result.get(0).getId());
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    void testBrowseActiveListings_SeeksPastCursor() {
+        // Arrange
+        String cursor = new ListingCursor(ListingSort.PRICE_LOW, "250.00", 42L).encode();
+        when(listingPriceIndex.slice(false, 25000L, 42L, Long.MIN_VALUE, Long.MAX_VALUE, null, ListingService.BROWSE_PAGE_SIZE + 1))
+            .thenReturn(slice(new long[]{1L}, new long[]{30000L}));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now())));
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.PRICE_LOW, cursor, new ListingFilter());
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testBrowseActiveListings_PriceSortFillsPageWhenIndexedListingLeftActive() {
+        // Arrange - listing 5 was sold after it was indexed, so it has no ACTIVE card
+        int size = ListingService.BROWSE_PAGE_SIZE;
+        long[] firstIds = new long[size + 1];
+        long[] firstCents = new long[size + 1];
+        for (int i = 0; i <= size; i++) {
+            firstIds[i] = i + 1;
+            firstCents[i] = (i + 1) * 100L;
+        }
+        when(listingPriceIndex.slice(false, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null, size + 1))
+            .thenReturn(slice(firstIds, firstCents));
+        when(listingPriceIndex.slice(false, (size + 1) * 100L, size + 1L, Long.MIN_VALUE, Long.MAX_VALUE, null, 1))
+            .thenReturn(slice(new long[]{size + 2L}, new long[]{(size + 2) * 100L}));
+        when(listingRepository.findCardsByIdIn(any(), eq(Listing.ListingStatus.ACTIVE))).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id != 5L).map(id -> card(id, LocalDateTime.now())).collect(Collectors.toList());
+        });
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.PRICE_LOW, null, new ListingFilter());
+
+        // Assert - the cursor is the index entry of the last card shown, not the card's own price
+        assertEquals(size, page.getItems().size());
+        assertFalse(page.getItems().stream().anyMatch(card -> card.getId() == 5L));
+        ListingCursor next = ListingCursor.decode(page.getNextCursor(), ListingSort.PRICE_LOW);
+        assertEquals(size + 1L, next.getId());
+        assertEquals(0, new BigDecimal("25.00").compareTo(new BigDecimal(next.getKey())));
+    }
+
+    @Test
+    void testBrowseActiveListings_IgnoresCursorFromOtherSort() {
+        // Arrange
+        String cursor = new ListingCursor(ListingSort.PRICE_LOW, "250.00", 42L).encode();
+        when(listingPriceIndex.slice(true, Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null,
+                                     ListingService.BROWSE_PAGE_SIZE + 1)).thenReturn(slice(new long[]{1L}, new long[]{30000L}));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now())));
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.PRICE_HIGH, cursor, new ListingFilter());
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+    }
+
+    @Test
+    void testBrowseActiveListings_PriceSortUsesBucketRangeAndFacetBitmap() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setType(Listing.ListingType.WEBSITE);
+        filter.setPriceBucket(PriceBucket.FROM_1K_TO_10K);
+        RoaringBitmap websites = RoaringBitmap.bitmapOf(3, 1);
+        when(listingFacetIndex.count(filter)).thenReturn(2);
+        when(listingFacetIndex.match(argThat(f -> f.getType() == Listing.ListingType.WEBSITE && f.getPriceBucket() == null)))
+            .thenReturn(websites);
+        when(listingPriceIndex.slice(false, Long.MIN_VALUE, Long.MIN_VALUE, 100000L, 1000000L, websites,
+                                     ListingService.BROWSE_PAGE_SIZE + 1))
+            .thenReturn(slice(new long[]{3L, 1L}, new long[]{200000L, 300000L}));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(3L, 1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now()), card(3L, LocalDateTime.now())));
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.PRICE_LOW, null, filter);
+
+        // Assert - cards keep the price index order, not the query order
+        assertEquals(Arrays.asList(3L, 1L), page.getItems().stream().map(ListingCard::getId).collect(Collectors.toList()));
+        verify(listingRepository, never()).findPageByNewest(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testBrowseActiveListings_SkipsQueryWhenFacetsMatchNothing() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setType(Listing.ListingType.DOMAIN);
+        when(listingFacetIndex.count(filter)).thenReturn(0);
+
+        // Act
+        CursorPage<ListingCard> page = listingService.browseActiveListings(ListingSort.NEWEST, null, filter);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.hasNext());
+        verify(listingRepository, never()).findPageByNewest(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchListings_AppliesFacetFilterBeforeLoading() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        filter.setVerified(true);
+        when(listingSearchIndex.search("shopify", 200)).thenReturn(Arrays.asList(3L, 1L, 2L));
+        when(listingFacetIndex.match(filter)).thenReturn(RoaringBitmap.bitmapOf(1, 3));
+        when(listingRepository.findCardsByIdIn(Arrays.asList(3L, 1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now()), card(3L, LocalDateTime.now())));
+
+        // Act
+        List<ListingCard> result = listingService.searchListings("shopify", filter);
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L), result.stream().map(ListingCard::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetFacetCounts_ScopesToSharedSearchHits() {
+        // Arrange
+        ListingFilter filter = new ListingFilter();
+        when(listingSearchIndex.search("shopify", 200)).thenReturn(Arrays.asList(3L, 1L));
+        List<Long> hits = listingService.rankedSearchIds("shopify");
+        when(listingRepository.findCardsByIdIn(Arrays.asList(3L, 1L), Listing.ListingStatus.ACTIVE))
+            .thenReturn(Arrays.asList(card(1L, LocalDateTime.now()), card(3L, LocalDateTime.now())));
+
+        // Act
+        listingService.searchListings(hits, filter);
+        listingService.getFacetCounts(filter, hits);
+
+        // Assert
+        verify(listingSearchIndex, times(1)).search("shopify", 200);
+        verify(listingFacetIndex).counts(filter, RoaringBitmap.bitmapOf(1, 3));
     }
 
     @Test
@@ -208,6 +466,7 @@ class ListingServiceTest {
 
         when(listingRepository.findById(1L)).thenReturn(Optional.of(listing));
         when(listingRepository.save(any(Listing.class))).thenReturn(listing);
+        when(permissions.isOwnerOrAdmin(seller, seller.getId())).thenReturn(true);
 
         // Act
         Listing result = listingService.updateListing(1L, updateDTO, seller, request);
@@ -253,9 +512,31 @@ class ListingServiceTest {
         // Assert
         assertEquals(Listing.ListingStatus.ACTIVE, listing.getStatus());
         verify(listingRepository, times(1)).save(listing);
+        verify(eventPublisher, times(1)).publishEvent(new ListingChangedEvent(listing));
+        verify(savedSearchService, times(1)).percolate(listing);
         verify(auditLogService, times(1)).logAction(eq(adminUser), eq("LISTING_ACTIVATED"), anyString(), anyString(), anyString(), any());
     }
 
+    @Test
+    void testCreateListing_PendingReviewIsNotMatchedAgainstSavedSearches() {
+        // Arrange
+        listingDTO.setType(Listing.ListingType.SAAS);
+        listingDTO.setWebsiteUrl(null);
+        when(adminService.isAutoApproveEnabled()).thenReturn(false);
+        when(listingRepository.save(any(Listing.class))).thenAnswer(invocation -> {
+            Listing l = invocation.getArgument(0);
+            l.setId(1L);
+            return l;
+        });
+
+        // Act
+        Listing result = listingService.createListing(listingDTO, seller, request);
+
+        // Assert
+        assertEquals(Listing.ListingStatus.PENDING_REVIEW, result.getStatus());
+        verify(savedSearchService, never()).percolate(any());
+    }
+
     @Test
     void testActivateListing_NotFound() {
         // Arrange
@@ -284,5 +565,13 @@ class ListingServiceTest {
         assertEquals(listing.getPrice(), result.getPrice());
         assertEquals(seller.getId(), result.getSellerId());
     }
-}
 
+    private static ListingPriceIndex.Slice slice(long[] ids, long[] cents) {
+        return new ListingPriceIndex.Slice(ids, cents);
+    }
+
+    private ListingCard card(Long id, LocalDateTime createdAt) {
+        return new ListingCard(id, "Listing " + id, "Summary", Listing.ListingType.WEBSITE, Listing.ListingMode.NORMAL,
+                               new BigDecimal("1000.00"), null, false, false, null, null, null, createdAt, null);
+    }
+}
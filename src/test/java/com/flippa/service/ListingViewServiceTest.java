@@ -0,0 +1,129 @@
+package com.flippa.service;
+
+import com.flippa.entity.Listing;
+import com.flippa.search.TrendingIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingViewServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    private ListingViewService listingViewService;
+
+    @BeforeEach
+    void setUp() {
+        listingViewService = new ListingViewService(jdbcTemplate, trendingIndex);
+    }
+
+    @Test
+    void testFlush_WritesOnlyDeltasSinceLastFlush() {
+        // Arrange
+        listingViewService.load();
+        when(jdbcTemplate.batchUpdate(eq(ListingViewService.UPDATE_SQL), anyList())).thenReturn(new int[]{1});
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+
+        // Act
+        listingViewService.flush();
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+        listingViewService.flush();
+        listingViewService.flush();
+
+        // Assert
+        List<List<Object[]>> batches = captureBatches(ListingViewService.UPDATE_SQL, 2);
+        assertEquals(2L, batches.get(0).get(0)[0]);
+        assertEquals(1L, batches.get(1).get(0)[0]);
+        assertEquals(1L, batches.get(1).get(0)[2]);
+        assertEquals(3, listingViewService.getViewCount(1L));
+        verify(trendingIndex, times(3)).recordView(1L);
+        verify(jdbcTemplate, never()).batchUpdate(eq(ListingViewService.INSERT_SQL), anyList());
+    }
+
+    @Test
+    void testFlush_InsertsRowForFirstViewsAndDropsDeletedListings() {
+        // Arrange
+        listingViewService.load();
+        when(jdbcTemplate.batchUpdate(eq(ListingViewService.UPDATE_SQL), anyList())).thenReturn(new int[]{0, 0});
+        when(jdbcTemplate.batchUpdate(eq(ListingViewService.INSERT_SQL), anyList())).thenReturn(new int[]{1, 0});
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+        listingViewService.recordView(2L, Listing.ListingStatus.ACTIVE);
+
+        // Act
+        listingViewService.flush();
+
+        // Assert
+        List<Object[]> inserted = captureBatches(ListingViewService.INSERT_SQL, 1).get(0);
+        assertEquals(2, inserted.size());
+        assertEquals(1, listingViewService.getViewCount(1L));
+        assertEquals(0, listingViewService.getViewCount(2L));
+    }
+
+    @Test
+    void testFlush_RetriesFailedBatchWithAccumulatedViews() {
+        // Arrange
+        listingViewService.load();
+        when(jdbcTemplate.batchUpdate(eq(ListingViewService.UPDATE_SQL), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+            .thenReturn(new int[]{1});
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+
+        // Act
+        listingViewService.flush();
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+        listingViewService.flush();
+
+        // Assert
+        List<List<Object[]>> batches = captureBatches(ListingViewService.UPDATE_SQL, 2);
+        assertEquals(2L, batches.get(1).get(0)[0]);
+    }
+
+    @Test
+    void testRecordView_CountsInactiveListingsWithoutTrending() {
+        // Act
+        listingViewService.recordView(1L, Listing.ListingStatus.SOLD);
+
+        // Assert
+        assertEquals(1, listingViewService.getViewCount(1L));
+        verifyNoInteractions(trendingIndex);
+    }
+
+    @Test
+    void testFlush_WaitsForStoredTotalsToLoad() {
+        // Arrange
+        listingViewService.recordView(1L, Listing.ListingStatus.ACTIVE);
+
+        // Act
+        listingViewService.flush();
+
+        // Assert
+        assertEquals(1, listingViewService.getViewCount(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> captureBatches(String sql, int times) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(times)).batchUpdate(eq(sql), captor.capture());
+        return captor.getAllValues();
+    }
+}
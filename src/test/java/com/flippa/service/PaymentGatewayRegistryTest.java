@@ -0,0 +1,111 @@
+package com.flippa.service;
+
+import com.flippa.entity.SystemConfig;
+import com.flippa.repository.SystemConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentGatewayRegistryTest {
+
+    @Mock
+    private SystemConfigRepository systemConfigRepository;
+
+    private SystemConfigService systemConfigService;
+    private PaymentGatewayRegistry registry;
+    private final List<SystemConfig> configs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(systemConfigRepository.findAll()).thenAnswer(invocation -> List.copyOf(configs));
+        systemConfigService = new SystemConfigService(systemConfigRepository);
+        registry = new PaymentGatewayRegistry(systemConfigService);
+    }
+
+    @Test
+    void testClient_RebuiltOnlyWhenGatewaySettingsChange() {
+        // Arrange
+        SystemConfig clientId = config("payment.gateway.paypal.client-id", "id-1");
+        configs.add(clientId);
+        AtomicInteger builds = new AtomicInteger();
+        PaymentGatewayRegistry.Gateway<String> gateway = registry.register(PaymentGatewayRegistry.PAYPAL,
+            settings -> {
+                builds.incrementAndGet();
+                return settings.get("client-id");
+            });
+
+        // Act
+        assertEquals("id-1", gateway.client());
+        assertEquals("id-1", gateway.client());
+        configs.add(config("system.name", "Renamed"));
+        systemConfigService.reload();
+        String unchanged = gateway.client();
+        clientId.setConfigValue("id-2");
+        systemConfigService.reload();
+
+        // Assert
+        assertEquals("id-1", unchanged);
+        assertEquals("id-2", gateway.client());
+        assertEquals(2, builds.get());
+        assertEquals(2, gateway.getClientVersion());
+    }
+
+    @Test
+    void testClient_ReportsBuildFailureUntilConfigured() {
+        // Arrange
+        PaymentGatewayRegistry.Gateway<Object> gateway = registry.register(PaymentGatewayRegistry.PAYNOW_ZIM,
+            settings -> PayNowZimService.createPaynow(settings));
+
+        // Act
+        RuntimeException e = assertThrows(RuntimeException.class, gateway::client);
+        configs.add(config("payment.gateway.paynow-zim.integration-id", "1234"));
+        configs.add(config("payment.gateway.paynow-zim.integration-key", "secret"));
+        systemConfigService.reload();
+
+        // Assert
+        assertEquals("PayNow integration credentials not configured. Please configure in admin settings.",
+                     e.getMessage());
+        assertNotNull(gateway.client());
+    }
+
+    @Test
+    void testExecute_RecordsCallsErrorsAndInFlight() {
+        // Arrange
+        PaymentGatewayRegistry.Gateway<Map<String, String>> gateway = registry.register("test", settings -> settings);
+        AtomicInteger inFlightDuringCall = new AtomicInteger();
+
+        // Act
+        gateway.execute(settings -> inFlightDuringCall.getAndSet(gateway.getStats().getInFlight()));
+        assertThrows(IllegalStateException.class, () -> gateway.execute(settings -> {
+            throw new IllegalStateException("gateway down");
+        }));
+
+        // Assert
+        PaymentGatewayRegistry.GatewayStats stats = registry.getStats().get(0);
+        assertEquals(1, inFlightDuringCall.get());
+        assertEquals("test", stats.getGateway());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(2, stats.getCalls());
+        assertEquals(1, stats.getErrors());
+        assertEquals(50, stats.getP99Millis());
+    }
+
+    private static SystemConfig config(String key, String value) {
+        SystemConfig config = new SystemConfig();
+        config.setConfigKey(key);
+        config.setConfigValue(value);
+        config.setEnabled(true);
+        return config;
+    }
+}
@@ -0,0 +1,139 @@
+package com.flippa.service;
+
+import com.flippa.dto.ListingFilter;
+import com.flippa.entity.Listing;
+import com.flippa.entity.SavedSearch;
+import com.flippa.entity.SavedSearchMatch;
+import com.flippa.entity.User;
+import com.flippa.repository.CategoryRepository;
+import com.flippa.repository.ListingRepository;
+import com.flippa.repository.SavedSearchMatchRepository;
+import com.flippa.repository.SavedSearchRepository;
+import com.flippa.search.SavedSearchPercolator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private SavedSearchMatchRepository savedSearchMatchRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    private User user;
+    private Listing listing;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(2L);
+        user.setEmail("buyer@example.com");
+
+        listing = new Listing();
+        listing.setId(1L);
+        listing.setStatus(Listing.ListingStatus.ACTIVE);
+    }
+
+    @Test
+    void testSaveSearch_IndexesSavedSearch() {
+        // Arrange
+        when(savedSearchRepository.countByUserId(2L)).thenReturn(0L);
+        when(savedSearchRepository.save(any(SavedSearch.class))).thenAnswer(invocation -> {
+            SavedSearch s = invocation.getArgument(0);
+            s.setId(10L);
+            return s;
+        });
+
+        // Act
+        SavedSearch result = savedSearchService.saveSearch(user, "  shopify  ", new ListingFilter());
+
+        // Assert
+        assertEquals("shopify", result.getQuery());
+        verify(savedSearchPercolator, times(1)).put(result);
+    }
+
+    @Test
+    void testSaveSearch_RejectsEmptySearch() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> savedSearchService.saveSearch(user, " ", new ListingFilter()));
+
+        assertEquals("Enter a search term or choose a filter before saving a search", exception.getMessage());
+        verify(savedSearchRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveSearch_TreatsStopWordQueryAsEmpty() {
+        // Arrange
+        when(savedSearchRepository.countByUserId(2L)).thenReturn(0L);
+        when(savedSearchRepository.save(any(SavedSearch.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ListingFilter filter = new ListingFilter();
+        filter.setVerified(true);
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> savedSearchService.saveSearch(user, "the", new ListingFilter()));
+        SavedSearch facetOnly = savedSearchService.saveSearch(user, " to a ", filter);
+
+        // Assert
+        assertEquals("Enter a search term or choose a filter before saving a search", exception.getMessage());
+        assertNull(facetOnly.getQuery());
+        assertEquals(Boolean.TRUE, facetOnly.getVerifiedOnly());
+        verify(savedSearchRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testPercolate_QueuesOnlyNewMatches() {
+        // Arrange
+        when(savedSearchPercolator.match(listing)).thenReturn(List.of(10L, 11L));
+        when(savedSearchRepository.findIdsNotYetMatched(List.of(10L, 11L), 1L)).thenReturn(List.of(11L));
+        when(savedSearchRepository.getReferenceById(11L)).thenReturn(new SavedSearch());
+        when(listingRepository.getReferenceById(1L)).thenReturn(listing);
+
+        // Act
+        int queued = savedSearchService.percolate(listing);
+
+        // Assert
+        assertEquals(1, queued);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SavedSearchMatch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(savedSearchMatchRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertSame(listing, captor.getValue().get(0).getListing());
+    }
+
+    @Test
+    void testPercolate_SkipsInactiveListing() {
+        // Arrange
+        listing.setStatus(Listing.ListingStatus.PENDING_REVIEW);
+
+        // Act & Assert
+        assertEquals(0, savedSearchService.percolate(listing));
+        verifyNoInteractions(savedSearchPercolator, savedSearchMatchRepository);
+    }
+}
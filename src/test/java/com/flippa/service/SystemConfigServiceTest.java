@@ -0,0 +1,93 @@
+package com.flippa.service;
+
+import com.flippa.entity.SystemConfig;
+import com.flippa.repository.SystemConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SystemConfigServiceTest {
+
+    @Mock
+    private SystemConfigRepository systemConfigRepository;
+
+    private SystemConfigService systemConfigService;
+
+    @BeforeEach
+    void setUp() {
+        systemConfigService = new SystemConfigService(systemConfigRepository);
+    }
+
+    @Test
+    void testGetSnapshot_LoadsOnceThenReadsFromMemory() {
+        // Arrange
+        when(systemConfigRepository.findAll()).thenReturn(List.of(config("system.name", "Marketplace", true)));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Marketplace", systemConfigService.getSnapshot().getValue("system.name", "default"));
+        }
+
+        // Assert
+        assertEquals("default", systemConfigService.getSnapshot().getValue("missing", "default"));
+        assertTrue(systemConfigService.getSnapshot().isEnabled("missing", true));
+        verify(systemConfigRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testReload_PublishesNewVersionToListenersOnlyWhenChanged() {
+        // Arrange
+        SystemConfig gateway = config("payment.gateway.paypal.enabled", null, true);
+        when(systemConfigRepository.findAll()).thenReturn(List.of(gateway));
+        SystemConfigService.Snapshot first = systemConfigService.getSnapshot();
+        List<Long> published = new ArrayList<>();
+        systemConfigService.addListener(snapshot -> published.add(snapshot.getVersion()));
+
+        // Act
+        systemConfigService.refresh();
+        gateway.setEnabled(false);
+        systemConfigService.reloadAfterCommit();
+
+        // Assert
+        assertEquals(List.of(first.getVersion() + 1), published);
+        assertTrue(first.isEnabled("payment.gateway.paypal.enabled", false));
+        assertFalse(systemConfigService.getSnapshot().isEnabled("payment.gateway.paypal.enabled", true));
+    }
+
+    @Test
+    void testReload_KeepsPublishingWhenAListenerFails() {
+        // Arrange
+        when(systemConfigRepository.findAll())
+            .thenReturn(List.of())
+            .thenReturn(List.of(config("system.name", "Renamed", true)));
+        systemConfigService.getSnapshot();
+        List<String> names = new ArrayList<>();
+        systemConfigService.addListener(snapshot -> {
+            throw new IllegalStateException("broken listener");
+        });
+        systemConfigService.addListener(snapshot -> names.add(snapshot.getValue("system.name", null)));
+
+        // Act
+        systemConfigService.reload();
+
+        // Assert
+        assertEquals(List.of("Renamed"), names);
+    }
+
+    private static SystemConfig config(String key, String value, boolean enabled) {
+        SystemConfig config = new SystemConfig();
+        config.setConfigKey(key);
+        config.setConfigValue(value);
+        config.setEnabled(enabled);
+        return config;
+    }
+}
@@ -216,6 +216,7 @@ class UserServiceTest {
 
         // Assert
         assertTrue(user.getRoles().contains(roleSeller));
+        assertEquals(Role.RoleType.ROLE_SELLER.getBit(), user.getRoleMask());
         verify(userRepository, times(1)).save(user);
         verify(auditLogService, times(1)).logAction(eq(adminUser), eq("USER_ROLE_ENABLED"), anyString(), anyString(), anyString(), any());
     }
@@ -238,6 +239,7 @@ class UserServiceTest {
 
         // Assert
         assertFalse(user.getRoles().contains(roleSeller));
+        assertEquals(0, user.getRoleMask());
         verify(userRepository, times(1)).save(user);
         verify(auditLogService, times(1)).logAction(eq(adminUser), eq("USER_ROLE_DISABLED"), anyString(), anyString(), anyString(), any());
     }
@@ -0,0 +1,114 @@
+package com.flippa.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingFragmentCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private ITemplateEngine templateEngine;
+
+    private ListingFragmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ListingFragmentCache(templateEngine, 2, 1024);
+        lenient().when(templateEngine.process(eq(ListingFragmentCache.TEMPLATE), anySet(), any(IContext.class)))
+            .thenReturn("<div>listing</div>");
+    }
+
+    @Test
+    void testGet_RendersOnceForSameVersion() {
+        // Act
+        ListingFragmentCache.Fragments first = cache.get(1L, UPDATED_AT, HashMap::new);
+        ListingFragmentCache.Fragments second = cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Assert
+        assertSame(first, second);
+        verify(templateEngine).process(eq(ListingFragmentCache.TEMPLATE), eq(Set.of("content")), any(IContext.class));
+        verify(templateEngine).process(eq(ListingFragmentCache.TEMPLATE), eq(Set.of("summary")), any(IContext.class));
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(0.5, cache.getStats().getHitRatio());
+    }
+
+    @Test
+    void testGet_RerendersWhenListingUpdated() {
+        // Arrange
+        cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Act
+        ListingFragmentCache.Fragments fragments = cache.get(1L, UPDATED_AT.plusMinutes(5), HashMap::new);
+
+        // Assert
+        assertEquals(UPDATED_AT.plusMinutes(5), fragments.getUpdatedAt());
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getEntries());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedEntry() {
+        // Arrange
+        cache.get(1L, UPDATED_AT, HashMap::new);
+        cache.get(2L, UPDATED_AT, HashMap::new);
+        cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Act
+        cache.get(3L, UPDATED_AT, HashMap::new);
+        cache.get(1L, UPDATED_AT, HashMap::new);
+        cache.get(2L, UPDATED_AT, HashMap::new);
+
+        // Assert - 2 was evicted for 3, then 3 for 2; 1 stayed hot
+        ListingFragmentCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+    }
+
+    @Test
+    void testGet_SkipsEntryLargerThanByteBudget() {
+        // Arrange - each entry is 2 * 2 * 300 = 1200 bytes, above the 1024 byte budget
+        when(templateEngine.process(eq(ListingFragmentCache.TEMPLATE), anySet(), any(IContext.class)))
+            .thenReturn("x".repeat(300));
+
+        // Act
+        cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Assert
+        assertEquals(0, cache.getStats().getEntries());
+        assertEquals(0, cache.getStats().getBytes());
+    }
+
+    @Test
+    void testEvict_ForcesRerender() {
+        // Arrange
+        cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Act
+        cache.evict(1L);
+        cache.get(1L, UPDATED_AT, HashMap::new);
+
+        // Assert
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(0, cache.getStats().getHits());
+    }
+}
@@ -0,0 +1,75 @@
+package com.flippa.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flippa.dto.CursorPage;
+import com.flippa.dto.ListingCard;
+import com.flippa.dto.ListingField;
+import com.flippa.entity.Listing;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ListingJsonWriter writer = new ListingJsonWriter(objectMapper);
+
+    @Test
+    void testWritePage_WritesOnlySelectedFields() throws Exception {
+        // Arrange
+        CursorPage<ListingCard> page = new CursorPage<>(List.of(card(1L, "listings/a.jpg"), card(2L, null)), "abc");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        writer.writePage(page, ListingField.parse("title, price,imageUrl"), out);
+
+        // Assert
+        String body = out.toString();
+        assertTrue(body.contains("\"price\":1500.00"));
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals("abc", json.get("nextCursor").asText());
+        JsonNode first = json.get("items").get(0);
+        assertEquals(4, first.size());
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("Shopify Store 1", first.get("title").asText());
+        assertEquals("/images/listings/a.jpg", first.get("imageUrl").asText());
+        assertTrue(json.get("items").get(1).get("imageUrl").isNull());
+    }
+
+    @Test
+    void testWriteListing_WritesEveryFieldByDefault() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        writer.writeListing(card(7L, null), ListingField.parse(null), out);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertEquals(ListingField.values().length, json.size());
+        assertEquals("ECOMMERCE_STORE", json.get("type").asText());
+        assertEquals("2024-01-01T12:00", json.get("createdAt").asText());
+        assertTrue(json.get("currentBid").isNull());
+        assertEquals("/listings/7", json.get("url").asText());
+    }
+
+    @Test
+    void testParseFields_RejectsUnknownField() {
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ListingField.parse("title,sellerEmail"));
+        assertEquals("Unknown field: sellerEmail", e.getMessage());
+    }
+
+    private static ListingCard card(Long id, String imagePath) {
+        return new ListingCard(id, "Shopify Store " + id, "Summary", Listing.ListingType.ECOMMERCE_STORE,
+                               Listing.ListingMode.NORMAL, new BigDecimal("1500.00"), null, true, false,
+                               "E-commerce", imagePath, null, LocalDateTime.of(2024, 1, 1, 12, 0), null);
+    }
+}